@@ -0,0 +1,27 @@
+package software.coley.sourcesolver.benchmark;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common configuration of all benchmarks.
+ *
+ * @author Matt Coley
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+		"--add-opens=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED",
+		"--add-opens=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED",
+		"--add-opens=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED"
+})
+public abstract class BenchmarkBase {
+}
@@ -0,0 +1,155 @@
+package software.coley.sourcesolver.benchmark;
+
+import jakarta.annotation.Nonnull;
+import software.coley.sourcesolver.resolve.entry.ClassEntry;
+import software.coley.sourcesolver.resolve.entry.ConcurrentEntryPool;
+import software.coley.sourcesolver.resolve.entry.EntryPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static software.coley.sourcesolver.resolve.entry.ReflectiveClassEntry.lazy;
+
+/**
+ * Common inputs for benchmarks.
+ *
+ * @author Matt Coley
+ */
+public final class BenchmarkSupport {
+	/**
+	 * Test-fixture samples which are bundled with the benchmarks.
+	 */
+	public static final List<String> FIXTURES = List.of(
+			"sample/AFooServiceImplementation", "sample/AbstractFooService", "sample/AnnoAnywhere",
+			"sample/AnnoComputer", "sample/AnnoDisplay", "sample/AnnoMotherboard", "sample/AnnotationsEverywhere",
+			"sample/BoolCallable", "sample/Box", "sample/BoxUseCases", "sample/CharSeqMapper", "sample/CharSeqMappers",
+			"sample/Circle", "sample/Computers", "sample/ExampleFixedList", "sample/FixedDataProcessor",
+			"sample/InstanceOf", "sample/Lambdas", "sample/MethodRefs", "sample/MultiCtor", "sample/Numbers",
+			"sample/OptionPanes", "sample/OuterClass", "sample/Shape", "sample/SomeEnumeration", "sample/Square",
+			"sample/UnionThrowing"
+	);
+	private static EntryPool jdkPool;
+
+	private BenchmarkSupport() {}
+
+	/**
+	 * @param size
+	 * 		One of {@code small}, {@code medium}, {@code large} or {@code huge}.
+	 *
+	 * @return Source code of the given size.
+	 * Small and medium sizes are test-fixture samples, and larger sizes are synthetic.
+	 */
+	@Nonnull
+	public static String source(@Nonnull String size) {
+		return switch (size) {
+			case "small" -> readFixture("sample/CharSeqMapper");
+			case "medium" -> readFixture("sample/Lambdas");
+			case "large" -> syntheticSource(10, 20);
+			case "huge" -> syntheticSource(100, 50);
+			default -> throw new IllegalArgumentException("Unknown source size: " + size);
+		};
+	}
+
+	/**
+	 * @param name
+	 * 		Internal name of a test-fixture class, such as {@code sample/Box}.
+	 *
+	 * @return Source code of the class.
+	 */
+	@Nonnull
+	public static String readFixture(@Nonnull String name) {
+		try (InputStream in = BenchmarkSupport.class.getResourceAsStream("/fixtures/" + name + ".java")) {
+			if (in == null)
+				throw new IllegalArgumentException("Missing fixture: " + name);
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * @param classes
+	 * 		Number of inner classes to generate.
+	 * @param methodsPerClass
+	 * 		Number of methods to generate per inner class.
+	 *
+	 * @return Source code of a class with the given number of inner classes and methods.
+	 * Methods contain a mix of local variables, field accesses, lambdas and calls to overloaded JDK methods.
+	 */
+	@Nonnull
+	public static String syntheticSource(int classes, int methodsPerClass) {
+		StringBuilder sb = new StringBuilder("""
+				package sample;
+
+				import java.util.*;
+				import java.util.function.*;
+				import java.util.stream.Collectors;
+
+				public class Synthetic {
+				""");
+		for (int c = 0; c < classes; c++) {
+			sb.append("\tstatic class Inner").append(c).append(" extends AbstractList<String> {\n");
+			sb.append("\t\tprivate final List<String> values = new ArrayList<>();\n");
+			sb.append("\t\tprivate final StringBuilder log = new StringBuilder();\n");
+			sb.append("\t\tprivate int count;\n\n");
+			sb.append("\t\t@Override\n\t\tpublic String get(int index) {\n\t\t\treturn values.get(index);\n\t\t}\n\n");
+			sb.append("\t\t@Override\n\t\tpublic int size() {\n\t\t\treturn values.size();\n\t\t}\n\n");
+			for (int m = 0; m < methodsPerClass; m++) {
+				sb.append("\t\tpublic String method").append(m).append("(int a, long b, String s) {\n");
+				sb.append("\t\t\tint max = Math.max(a, count);\n");
+				sb.append("\t\t\tlong total = Math.max(b, max) + Math.abs(a);\n");
+				sb.append("\t\t\tlog.append(max).append(' ').append(total).append(s).append(1.5F);\n");
+				sb.append("\t\t\tString joined = String.valueOf(total) + String.valueOf(max);\n");
+				sb.append("\t\t\tMap<String, Integer> lengths = new HashMap<>();\n");
+				sb.append("\t\t\tfor (String value : values)\n");
+				sb.append("\t\t\t\tlengths.put(value, value.length());\n");
+				sb.append("\t\t\tFunction<String, String> upper = x -> x.toUpperCase(Locale.ROOT);\n");
+				sb.append("\t\t\tif (joined.isEmpty() || lengths.containsKey(s))\n");
+				sb.append("\t\t\t\treturn upper.apply(s);\n");
+				sb.append("\t\t\treturn values.stream().map(String::trim).collect(Collectors.joining(\",\")) + joined;\n");
+				sb.append("\t\t}\n\n");
+			}
+			sb.append("\t}\n\n");
+		}
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * @return Pool containing every class in the JDK, and the test-fixture samples.
+	 * Classes are lazily modeled when first accessed.
+	 */
+	@Nonnull
+	public static synchronized EntryPool jdkPool() {
+		if (jdkPool == null) {
+			ConcurrentEntryPool pool = new ConcurrentEntryPool();
+			ClassLoader systemLoader = ClassLoader.getSystemClassLoader();
+			for (ModuleReference reference : ModuleFinder.ofSystem().findAll()) {
+				try (ModuleReader reader = reference.open(); Stream<String> names = reader.list()) {
+					names.filter(s -> s.endsWith(".class") && s.indexOf('-') == -1)
+							.forEach(s -> lazy(pool, systemLoader, s.substring(0, s.length() - 6)));
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}
+			ClassLoader fixtureLoader = BenchmarkSupport.class.getClassLoader();
+			for (String fixture : FIXTURES)
+				registerInnerClasses(lazy(pool, fixtureLoader, fixture));
+			jdkPool = pool;
+		}
+		return jdkPool;
+	}
+
+	private static void registerInnerClasses(@Nonnull ClassEntry entry) {
+		// Inner class placeholders are registered when the outer class is loaded.
+		for (ClassEntry innerEntry : entry.getInnerClassEntries())
+			registerInnerClasses(innerEntry);
+	}
+}
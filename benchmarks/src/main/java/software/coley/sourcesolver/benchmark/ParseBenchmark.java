@@ -0,0 +1,68 @@
+package software.coley.sourcesolver.benchmark;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.tools.javac.tree.EndPosTable;
+import jakarta.annotation.Nonnull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.coley.sourcesolver.Parser;
+import software.coley.sourcesolver.model.CompilationUnitModel;
+
+/**
+ * Benchmarks for parsing source code into our model, and for the mapping of javac's model into ours on its own.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Thread)
+public class ParseBenchmark extends BenchmarkBase {
+	@Param({"small", "medium", "large", "huge"})
+	private String size;
+	private String source;
+	private CapturingParser parser;
+
+	@Setup
+	public void setup() {
+		source = BenchmarkSupport.source(size);
+		parser = new CapturingParser();
+
+		// Parse once up front so that the javac tree is available for the mapping benchmark.
+		parser.parse(source);
+	}
+
+	@Benchmark
+	public CompilationUnitModel parse() {
+		return parser.parse(source);
+	}
+
+	@Benchmark
+	public CompilationUnitModel map() {
+		return parser.remap();
+	}
+
+	/**
+	 * Parser which keeps the javac model of the last parsed source, so that it can be mapped again without re-parsing.
+	 */
+	private static class CapturingParser extends Parser {
+		private String source;
+		private EndPosTable table;
+		private CompilationUnitTree unit;
+
+		@Nonnull
+		@Override
+		protected CompilationUnitModel mapCompilationUnit(@Nonnull String source, @Nonnull EndPosTable table,
+		                                                  @Nonnull CompilationUnitTree unit) {
+			this.source = source;
+			this.table = table;
+			this.unit = unit;
+			return super.mapCompilationUnit(source, table, unit);
+		}
+
+		@Nonnull
+		private CompilationUnitModel remap() {
+			return super.mapCompilationUnit(source, table, unit);
+		}
+	}
+}
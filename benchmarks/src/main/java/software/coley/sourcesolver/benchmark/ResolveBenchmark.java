@@ -0,0 +1,83 @@
+package software.coley.sourcesolver.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import software.coley.sourcesolver.Parser;
+import software.coley.sourcesolver.model.CompilationUnitModel;
+import software.coley.sourcesolver.model.MethodInvocationExpressionModel;
+import software.coley.sourcesolver.model.Model;
+import software.coley.sourcesolver.model.NamedModel;
+import software.coley.sourcesolver.resolve.BasicResolver;
+import software.coley.sourcesolver.resolve.Resolver;
+import software.coley.sourcesolver.resolve.ResolverFactory;
+import software.coley.sourcesolver.resolve.entry.EntryPool;
+
+import java.util.List;
+
+/**
+ * Benchmarks for creating resolvers against a JDK sized pool, and resolving the contents of a unit.
+ * <p/>
+ * A new resolver is used for each invocation, so that no results are carried over from prior invocations.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Thread)
+public class ResolveBenchmark extends BenchmarkBase {
+	@Param({"sample/FixedDataProcessor", "sample/Lambdas", "sample/OptionPanes", "synthetic"})
+	private String input;
+	private EntryPool pool;
+	private ResolverFactory factory;
+	private CompilationUnitModel unit;
+	private int[] positions;
+	private List<MethodInvocationExpressionModel> invocations;
+
+	@Setup
+	public void setup() {
+		String source = input.equals("synthetic") ?
+				BenchmarkSupport.syntheticSource(5, 10) : BenchmarkSupport.readFixture(input);
+		pool = BenchmarkSupport.jdkPool();
+		factory = new ResolverFactory(pool);
+		unit = new Parser().parse(source);
+
+		// Resolve at the start of every named model, which is what a user hovering over code would trigger.
+		positions = unit.getRecursiveChildrenOfType(NamedModel.class).stream()
+				.mapToInt(m -> ((Model) m).getRange().begin())
+				.filter(i -> i >= 0)
+				.toArray();
+		invocations = unit.getRecursiveChildrenOfType(MethodInvocationExpressionModel.class);
+	}
+
+	@Benchmark
+	public Resolver newResolver() {
+		return new BasicResolver(unit, pool);
+	}
+
+	@Benchmark
+	public Resolver newFactoryResolver() {
+		return factory.newResolver(unit);
+	}
+
+	@Benchmark
+	public void resolveAtPositions(Blackhole blackhole) {
+		Resolver resolver = factory.newResolver(unit);
+		for (int position : positions)
+			blackhole.consume(resolver.resolveAt(position));
+	}
+
+	@Benchmark
+	public void resolveAll(Blackhole blackhole) {
+		factory.newResolver(unit).resolveAll(unit, (model, resolution) -> blackhole.consume(resolution));
+	}
+
+	@Benchmark
+	public void resolveMethodInvocations(Blackhole blackhole) {
+		// Method invocations are resolved by matching arguments against the overloads of a method name.
+		Resolver resolver = factory.newResolver(unit);
+		for (MethodInvocationExpressionModel invocation : invocations)
+			blackhole.consume(invocation.resolve(resolver));
+	}
+}
@@ -1,23 +1,44 @@
 package software.coley.sourcesolver;
 
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
 import com.sun.tools.javac.parser.JavacParser;
+import com.sun.tools.javac.parser.Lexer;
 import com.sun.tools.javac.parser.ParserFactory;
+import com.sun.tools.javac.parser.ScannerFactory;
 import com.sun.tools.javac.tree.EndPosTable;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Log;
 import software.coley.sourcesolver.mapping.CompilationUnitMapper;
 import software.coley.sourcesolver.mapping.MappingContext;
 import software.coley.sourcesolver.mapping.MappingContextProvider;
+import software.coley.sourcesolver.mapping.MethodMapper;
+import software.coley.sourcesolver.mapping.StaticInitializerMethodMapper;
+import software.coley.sourcesolver.model.AbstractModel;
+import software.coley.sourcesolver.model.ClassModel;
 import software.coley.sourcesolver.model.CompilationUnitModel;
+import software.coley.sourcesolver.model.MethodBodyModel;
+import software.coley.sourcesolver.model.MethodModel;
+import software.coley.sourcesolver.model.Model;
+import software.coley.sourcesolver.util.Range;
+import software.coley.sourcesolver.util.TextEdit;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import javax.tools.JavaFileManager;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Initiates the parsing of source code and provides {@link CompilationUnitModel} in return.
+ * <p>
+ * A parser wraps a single javac {@link Context} which is not safe for concurrent use.
+ * To parse from multiple threads, use a {@link ParserPool} which gives each thread its own parser.
  *
  * @author Matt Coley
  */
@@ -25,6 +46,9 @@ public class Parser {
 	private Context context;
 	private ParserFactory factory;
 	private MappingContextProvider mappingContextFactory = MappingContext::new;
+	private SolverMetrics metrics = SolverMetrics.NONE;
+	private boolean lazyMethodBodies;
+	private boolean signatureOnly;
 
 	/**
 	 * New parser.
@@ -46,6 +70,41 @@ public void setMappingContextFactory(@Nonnull MappingContextProvider mappingCont
 		this.mappingContextFactory = mappingContextFactory;
 	}
 
+	/**
+	 * @param metrics
+	 * 		Metrics listener to record parsing and mapping timings to.
+	 */
+	public void setMetrics(@Nonnull SolverMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * When enabled, the statements of method bodies are not mapped until they are first requested, either directly
+	 * through {@link software.coley.sourcesolver.model.MethodBodyModel#getStatements()} or when walking the children
+	 * of the body, such as when resolving a position inside it. This reduces the cost of parsing when only the outline
+	 * of classes is needed. The javac trees of unmapped bodies are retained until they are mapped.
+	 *
+	 * @param lazyMethodBodies
+	 * 		{@code true} to map method bodies on demand.
+	 */
+	public void setLazyMethodBodies(boolean lazyMethodBodies) {
+		this.lazyMethodBodies = lazyMethodBodies;
+	}
+
+	/**
+	 * When enabled, javac skips over the contents of method bodies instead of parsing them. Method bodies in the
+	 * resulting model have no statements, but their ranges are still accurate. This is much faster when only the
+	 * declarations of classes and their members are needed.
+	 *
+	 * @param signatureOnly
+	 * 		{@code true} to skip parsing method bodies.
+	 *
+	 * @see SignatureOnlyJavacParser
+	 */
+	public void setSignatureOnly(boolean signatureOnly) {
+		this.signatureOnly = signatureOnly;
+	}
+
 	/**
 	 * Allows controlling lower level javac aspects by providing a full context.
 	 *
@@ -129,11 +188,7 @@ public CompilationUnitModel parse(@Nonnull String source) {
 			throw new IllegalArgumentException("Must provide source to parse");
 
 		// Build parser for source and extract the end-pos table so that we can resolve AST ranges
-		JavacParser parser = factory.newParser(source,
-				false /* keepJavadoc */,
-				true  /* keepEndPos */,
-				false /* keepLineMap */
-		);
+		JavacParser parser = newJavacParser(source);
 		EndPosTable table;
 		try {
 			table = extractEndPosTable(parser);
@@ -142,8 +197,205 @@ public CompilationUnitModel parse(@Nonnull String source) {
 		}
 
 		// Parse the compilation unit and convert to our own lightweight model
+		if (!metrics.isEnabled())
+			return mapCompilationUnit(source, table, parser.parseCompilationUnit());
+		long start = System.nanoTime();
+		CompilationUnitTree unit = parser.parseCompilationUnit();
+		long parsed = System.nanoTime();
+		metrics.recordPhase(SolverMetrics.Phase.PARSE, parsed - start);
+		CompilationUnitModel model = mapCompilationUnit(source, table, unit);
+		metrics.recordPhase(SolverMetrics.Phase.MAP, System.nanoTime() - parsed);
+		return model;
+	}
+
+	/**
+	 * Applies an edit to the source of a previously parsed unit and yields a model of the modified source.
+	 * <p>
+	 * When the edit is entirely contained within the body of a method <i>(not including its braces)</i>,
+	 * only that method is re-parsed and re-mapped. All other models from the previous unit are carried over
+	 * into the new unit, with their ranges shifted to account for the edit. In any other case, or if the edit
+	 * changes the extent of the method <i>(such as by adding an unbalanced brace)</i>, the whole modified source
+	 * is parsed from scratch.
+	 * <p>
+	 * <b>The previous unit is consumed by this method, and must not be used again.</b> Models are carried over by moving
+	 * them into the new unit rather than by copying them. Their ranges are {@link AbstractModel#shift(int, int) shifted}
+	 * to match the modified source, and their parents are changed to the rebuilt models of the new unit. Afterwards, the
+	 * previous unit's models no longer line up with its {@link CompilationUnitModel#getInputSource() input source}.
+	 * Anything derived from the previous unit, such as resolvers and their cached resolutions, must be discarded too.
+	 *
+	 * @param previous
+	 * 		Previously parsed unit.
+	 * @param edit
+	 * 		Edit to apply to the previous unit's source code.
+	 *
+	 * @return Parsed model of the modified source code.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		When the edit region is outside the bounds of the previous unit's source code, or if a critical error occurs.
+	 */
+	@Nonnull
+	public CompilationUnitModel reparse(@Nonnull CompilationUnitModel previous, @Nonnull TextEdit edit) {
+		String source = edit.apply(previous.getInputSource());
+
+		// Find the declared method which contains the edit, and the class declaring it.
+		ClassModel declaringClass = null;
+		MethodModel method = null;
+		List<ClassModel> classes = previous.getDeclaredClasses();
+		search:
+		while (!classes.isEmpty()) {
+			for (ClassModel cls : classes) {
+				if (!cls.getRange().isWithin(edit.begin()))
+					continue;
+				for (MethodModel candidate : cls.getMethods()) {
+					MethodBodyModel body = candidate.getMethodBody();
+					if (body != null && body.getRange().isWithin(edit.begin(), false, false)
+							&& body.getRange().isWithin(edit.end(), false, false)) {
+						declaringClass = cls;
+						method = candidate;
+						break search;
+					}
+				}
+				classes = cls.getInnerClasses();
+				continue search;
+			}
+			break;
+		}
+		if (method == null)
+			return parse(source);
+
+		// Re-parse only the method, and fall back to parsing everything if the method's extent is not what we expect.
+		MethodModel replacement = parseMethod(source, declaringClass, method, edit.delta());
+		if (replacement == null)
+			return parse(source);
+
+		// Shift the models we are carrying over, then rebuild the chain of models enclosing the re-parsed method.
+		int position = edit.end();
+		int delta = edit.delta();
+		Model replaced = method;
+		Model replacedWith = replacement;
+		Model parent = declaringClass;
+		while (parent instanceof ClassModel cls) {
+			for (Model child : cls.getChildren())
+				if (child != replaced && child instanceof AbstractModel abstractChild)
+					abstractChild.shift(position, delta);
+			cls.getModifiers().shift(position, delta);
+			ClassModel newClass = new ClassModel(shift(cls.getRange(), position, delta), cls.getAnnotations(),
+					cls.getModifiers(), cls.getName(), cls.getTypeParameters(), cls.getExtends(), cls.getImplements(),
+					cls.getPermits(), cls.getFields(),
+					replace(cls.getMethods(), replaced, replacedWith),
+					replace(cls.getInnerClasses(), replaced, replacedWith));
+			replaced = cls;
+			replacedWith = newClass;
+			parent = cls.getParent();
+		}
+		for (Model child : previous.getChildren())
+			if (child != replaced && child instanceof AbstractModel abstractChild)
+				abstractChild.shift(position, delta);
+		return new CompilationUnitModel(shift(previous.getRange(), position, delta), source, previous.getPackage(),
+				previous.getImports(), replace(previous.getDeclaredClasses(), replaced, replacedWith));
+	}
+
+	/**
+	 * Parses a single method out of the given source. This is done by blanking out all the content of the source
+	 * except for the declaration header of the method's class and the method itself. This allows javac to yield
+	 * tree positions that match the complete source.
+	 *
+	 * @param source
+	 * 		Complete modified source code.
+	 * @param declaringClass
+	 * 		Model of the class declaring the method, from before the source was modified.
+	 * @param method
+	 * 		Model of the method, from before the source was modified.
+	 * @param delta
+	 * 		Difference in the method's length after modification.
+	 *
+	 * @return Model of the modified method, or {@code null} if the method could not be isolated.
+	 */
+	@Nullable
+	protected MethodModel parseMethod(@Nonnull String source, @Nonnull ClassModel declaringClass,
+	                                  @Nonnull MethodModel method, int delta) {
+		Range classRange = declaringClass.getRange();
+		Range methodRange = method.getRange();
+		Range expectedRange = new Range(methodRange.begin(), methodRange.end() + delta);
+		if (classRange.isUnknown() || methodRange.isUnknown() || expectedRange.end() >= source.length())
+			return null;
+
+		// Find where the class body begins, which is after all the models in the class declaration header.
+		List<Model> headerModels = new ArrayList<>(declaringClass.getAnnotations());
+		headerModels.addAll(declaringClass.getTypeParameters());
+		headerModels.addAll(List.of(declaringClass.getModifiers(), declaringClass.getExtends(),
+				declaringClass.getImplements(), declaringClass.getPermits()));
+		int headerEnd = classRange.begin();
+		for (Model model : headerModels)
+			headerEnd = Math.max(headerEnd, model.getRange().end());
+		int bodyBegin = source.indexOf('{', headerEnd);
+		if (bodyBegin < 0 || bodyBegin >= methodRange.begin())
+			return null;
+
+		// Skeleton of the source with only the class header and the method, with all offsets retained.
+		//  - Semicolon after the class body's brace terminates the constant list if the class is an enum.
+		//  - Closing brace after the method terminates the class body.
+		char[] skeleton = new char[source.length()];
+		Arrays.fill(skeleton, ' ');
+		source.getChars(classRange.begin(), bodyBegin + 1, skeleton, classRange.begin());
+		source.getChars(expectedRange.begin(), expectedRange.end(), skeleton, expectedRange.begin());
+		if (bodyBegin + 1 < methodRange.begin())
+			skeleton[bodyBegin + 1] = ';';
+		skeleton[expectedRange.end()] = '}';
+
+		JavacParser parser = newJavacParser(new String(skeleton));
+		EndPosTable table;
+		try {
+			table = extractEndPosTable(parser);
+		} catch (Exception ex) {
+			throw new IllegalStateException("Failed to extract end-pos table from javac parser", ex);
+		}
 		CompilationUnitTree unit = parser.parseCompilationUnit();
-		return mapCompilationUnit(source, table, unit);
+		if (unit.getTypeDecls().size() != 1 || !(unit.getTypeDecls().getFirst() instanceof ClassTree classTree))
+			return null;
+
+		// Map the member at the method's position.
+		MappingContext mappingContext = newMappingContext(table, source);
+		mappingContext.setClassName(declaringClass.getName());
+
+		// Mirror the enum check done when mapping the class, which looks at the class declaration header.
+		int modifierStart = Math.max(classRange.begin(), declaringClass.getModifiers().getRange().begin());
+		if (source.substring(modifierStart, bodyBegin).contains("enum "))
+			mappingContext.markEnum();
+		for (Tree member : classTree.getMembers()) {
+			if (Range.extractRange(table, member).begin() != expectedRange.begin())
+				continue;
+			MethodModel replacement;
+			if (member instanceof MethodTree methodTree)
+				replacement = mappingContext.map(MethodMapper.class, methodTree);
+			else if (member instanceof BlockTree blockTree)
+				replacement = mappingContext.map(StaticInitializerMethodMapper.class, blockTree);
+			else
+				return null;
+			return replacement.getRange().equals(expectedRange) ? replacement : null;
+		}
+		return null;
+	}
+
+	@Nonnull
+	private static Range shift(@Nonnull Range range, int position, int delta) {
+		if (range.isUnknown())
+			return range;
+		return new Range(range.begin() >= position ? range.begin() + delta : range.begin(),
+				range.end() >= position ? range.end() + delta : range.end());
+	}
+
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	private static <M extends Model> List<M> replace(@Nonnull List<M> models, @Nonnull Model replaced, @Nonnull Model replacement) {
+		for (int i = 0; i < models.size(); i++) {
+			if (models.get(i) == replaced) {
+				List<M> copy = new ArrayList<>(models);
+				copy.set(i, (M) replacement);
+				return copy;
+			}
+		}
+		return models;
 	}
 
 	/**
@@ -160,11 +412,50 @@ public CompilationUnitModel parse(@Nonnull String source) {
 	 */
 	@Nonnull
 	protected CompilationUnitModel mapCompilationUnit(@Nonnull String source, @Nonnull EndPosTable table, @Nonnull CompilationUnitTree unit) {
-		MappingContext mappingContext = mappingContextFactory.newMappingContext(table, source);
-		mappingContext.setMapperSupplier(CompilationUnitMapper.class, () -> new CompilationUnitMapper(source));
+		MappingContext mappingContext = newMappingContext(table, source);
+		mappingContext.setMapper(CompilationUnitMapper.class, new CompilationUnitMapper(source));
 		return mappingContext.map(CompilationUnitMapper.class, unit);
 	}
 
+	/**
+	 * @param table
+	 * 		Table containing offsets of javac tree elements.
+	 * @param source
+	 * 		Java source code.
+	 *
+	 * @return New mapping context, reporting to this parser's metrics and using this parser's method body mode.
+	 */
+	@Nonnull
+	private MappingContext newMappingContext(@Nonnull EndPosTable table, @Nonnull String source) {
+		MappingContext mappingContext = mappingContextFactory.newMappingContext(table, source);
+		mappingContext.setMetrics(metrics);
+		mappingContext.setLazyMethodBodies(lazyMethodBodies);
+		return mappingContext;
+	}
+
+	/**
+	 * @param source
+	 * 		Java source code.
+	 *
+	 * @return New javac parser for the source, skipping method bodies when in {@link #setSignatureOnly(boolean) signature-only mode}.
+	 */
+	@Nonnull
+	protected JavacParser newJavacParser(@Nonnull String source) {
+		if (signatureOnly) {
+			Lexer lexer = ScannerFactory.instance(context).newScanner(source, false);
+			return new SignatureOnlyJavacParser(factory, lexer,
+					false /* keepJavadoc */,
+					false /* keepLineMap */,
+					true  /* keepEndPos */
+			);
+		}
+		return factory.newParser(source,
+				false /* keepJavadoc */,
+				true  /* keepEndPos */,
+				false /* keepLineMap */
+		);
+	}
+
 	/**
 	 * Retrieves the private table information we use for mapping our model's ranges.
 	 *
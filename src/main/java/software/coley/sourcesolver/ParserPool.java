@@ -0,0 +1,223 @@
+package software.coley.sourcesolver;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.sourcesolver.model.CompilationUnitModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe front for {@link Parser} which lazily allocates one parser <i>(and thus one javac context)</i>
+ * per calling thread. Parsing from many threads at once does not require any locking since no parser
+ * state is ever shared between threads.
+ * <p>
+ * Batches parsed with {@link #parseAll(Map, int, BiConsumer)} run on a single worker pool owned by this pool,
+ * sized to the largest parallelism level requested so far. Each batch only occupies as many workers as it asks for.
+ * Workers are kept alive for a short while between batches so that their parsers can be reused, and idle workers
+ * are stopped afterward so that their parsers can be collected. All workers are stopped when the pool is
+ * {@link #close() closed}.
+ *
+ * @author Matt Coley
+ */
+public class ParserPool implements AutoCloseable {
+	private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+	private final Object executorLock = new Object();
+	private ForkJoinPool executor;
+	private int executorParallelism;
+	private final Supplier<Parser> parserFactory;
+	private final ThreadLocal<Parser> parsers;
+	private boolean closed;
+
+	/**
+	 * New pool of default parsers.
+	 */
+	public ParserPool() {
+		this(Parser::new);
+	}
+
+	/**
+	 * @param parserFactory
+	 * 		Factory to create and configure new parsers for each thread which uses this pool.
+	 * 		Each invocation must yield a new parser instance.
+	 */
+	public ParserPool(@Nonnull Supplier<Parser> parserFactory) {
+		this.parserFactory = parserFactory;
+		this.parsers = ThreadLocal.withInitial(this::newParser);
+	}
+
+	/**
+	 * @return Parser bound to the current thread.
+	 */
+	@Nonnull
+	public Parser getParser() {
+		return parsers.get();
+	}
+
+	/**
+	 * Maps Java source code to our compilation unit model, using the parser bound to the current thread.
+	 *
+	 * @param source
+	 * 		Java source code.
+	 *
+	 * @return Parsed model.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		When the source is null, or if a critical error occurs.
+	 * @see Parser#parse(String)
+	 */
+	@Nonnull
+	public CompilationUnitModel parse(@Nonnull String source) {
+		return getParser().parse(source);
+	}
+
+	/**
+	 * Parses many sources in parallel, using one worker per available processor.
+	 *
+	 * @param sources
+	 * 		Map of source names <i>(Such as class names or file paths)</i> to Java source code.
+	 * @param errorListener
+	 * 		Optional listener to observe units which failed to parse, keyed by source name.
+	 *
+	 * @return Map of source names to parsed models, in the iteration order of the given sources.
+	 * Units which failed to parse are not included.
+	 *
+	 * @see #parseAll(Map, int, BiConsumer)
+	 */
+	@Nonnull
+	public Map<String, CompilationUnitModel> parseAll(@Nonnull Map<String, String> sources,
+	                                                  @Nullable BiConsumer<String, Throwable> errorListener) {
+		return parseAll(sources, Runtime.getRuntime().availableProcessors(), errorListener);
+	}
+
+	/**
+	 * Parses many sources in parallel over a {@link ForkJoinPool} owned by this pool.
+	 * At most {@code parallelism} of the pool's workers are used for the batch.
+	 *
+	 * @param sources
+	 * 		Map of source names <i>(Such as class names or file paths)</i> to Java source code.
+	 * @param parallelism
+	 * 		Maximum number of sources to parse concurrently.
+	 * @param errorListener
+	 * 		Optional listener to observe units which failed to parse, keyed by source name.
+	 *
+	 * @return Map of source names to parsed models, in the iteration order of the given sources.
+	 * Units which failed to parse are not included.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		When the parallelism level is not positive.
+	 * @throws IllegalStateException
+	 * 		When this pool has been closed.
+	 */
+	@Nonnull
+	public Map<String, CompilationUnitModel> parseAll(@Nonnull Map<String, String> sources, int parallelism,
+	                                                  @Nullable BiConsumer<String, Throwable> errorListener) {
+		if (parallelism <= 0)
+			throw new IllegalArgumentException("Parallelism must be positive, was: " + parallelism);
+		if (sources.isEmpty())
+			return Collections.emptyMap();
+
+		// Fan out with one task per allowed worker, each taking sources from a shared queue until it is drained.
+		// This bounds the batch to the requested parallelism even when the executor was sized for a larger one.
+		Map<String, CompilationUnitModel> parsed = new ConcurrentHashMap<>(sources.size());
+		Queue<Map.Entry<String, String>> pending = new ConcurrentLinkedQueue<>(sources.entrySet());
+		Runnable worker = () -> {
+			Map.Entry<String, String> entry;
+			while ((entry = pending.poll()) != null) {
+				String name = entry.getKey();
+				try {
+					parsed.put(name, parse(entry.getValue()));
+				} catch (Throwable t) {
+					if (errorListener != null) errorListener.accept(name, t);
+				}
+			}
+		};
+		List<ForkJoinTask<?>> tasks = submit(worker, Math.min(parallelism, sources.size()), parallelism);
+		for (ForkJoinTask<?> task : tasks)
+			task.join();
+
+		// Yield results in a stable order matching the input.
+		Map<String, CompilationUnitModel> results = new LinkedHashMap<>(parsed.size());
+		for (String name : sources.keySet()) {
+			CompilationUnitModel unit = parsed.get(name);
+			if (unit != null)
+				results.put(name, unit);
+		}
+		return results;
+	}
+
+	/**
+	 * Discards the parser bound to the current thread, if one exists.
+	 * The next use of this pool on the current thread will allocate a new parser.
+	 */
+	public void release() {
+		parsers.remove();
+	}
+
+	/**
+	 * Stops the workers used for {@link #parseAll(Map, int, BiConsumer) batch parsing},
+	 * discarding the parsers bound to them. Batches which are already running are allowed to complete.
+	 */
+	@Override
+	public void close() {
+		synchronized (executorLock) {
+			closed = true;
+			if (executor != null) {
+				executor.shutdown();
+				executor = null;
+			}
+		}
+	}
+
+	@Nonnull
+	private List<ForkJoinTask<?>> submit(@Nonnull Runnable worker, int count, int parallelism) {
+		// Submitting while holding the lock ensures the executor is not replaced and shut down in-between.
+		synchronized (executorLock) {
+			ForkJoinPool executor = getExecutor(parallelism);
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+				tasks.add(executor.submit(worker));
+			return tasks;
+		}
+	}
+
+	@Nonnull
+	private ForkJoinPool getExecutor(int parallelism) {
+		synchronized (executorLock) {
+			if (closed)
+				throw new IllegalStateException("Parser pool is closed");
+
+			// Grow the executor when a batch asks for more workers than it allows. Batches already running on
+			// the previous executor are allowed to complete, after which its workers stop.
+			if (executor == null || executorParallelism < parallelism) {
+				if (executor != null)
+					executor.shutdown();
+
+				// Parsers are bound to the executor's threads, so idle threads are kept around for a while
+				// to be reused by following batches, but not forever.
+				executor = new ForkJoinPool(parallelism,
+						ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+						0, parallelism, 1, null, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+				executorParallelism = parallelism;
+			}
+			return executor;
+		}
+	}
+
+	@Nonnull
+	private Parser newParser() {
+		return Objects.requireNonNull(parserFactory.get(), "Parser factory yielded 'null'");
+	}
+}
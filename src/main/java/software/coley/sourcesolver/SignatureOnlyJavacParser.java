@@ -0,0 +1,78 @@
+package software.coley.sourcesolver;
+
+import com.sun.tools.javac.parser.JavacParser;
+import com.sun.tools.javac.parser.Lexer;
+import com.sun.tools.javac.parser.ParserFactory;
+import com.sun.tools.javac.parser.Tokens;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Name;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Javac parser which skips over the contents of method bodies by matching braces, yielding empty blocks in their place.
+ * The ranges of the skipped blocks are the same as if they were fully parsed.
+ * <p>
+ * Other blocks, such as static initializers and lambda bodies in field values, are parsed as normal.
+ *
+ * @author Matt Coley
+ * @see Parser#setSignatureOnly(boolean)
+ */
+public class SignatureOnlyJavacParser extends JavacParser {
+	private boolean skipNextBlock;
+
+	/**
+	 * @param factory
+	 * 		Factory holding javac's parser components.
+	 * @param lexer
+	 * 		Lexer of the source code to parse.
+	 * @param keepDocComments
+	 * 		Flag to retain doc comments.
+	 * @param keepLineMap
+	 * 		Flag to retain the line map.
+	 * @param keepEndPositions
+	 * 		Flag to retain end positions of trees.
+	 */
+	public SignatureOnlyJavacParser(@Nonnull ParserFactory factory, @Nonnull Lexer lexer,
+	                                boolean keepDocComments, boolean keepLineMap, boolean keepEndPositions) {
+		super(factory, lexer, keepDocComments, keepLineMap, keepEndPositions);
+	}
+
+	@Override
+	protected JCTree methodDeclaratorRest(int pos, JCTree.JCModifiers mods, JCTree.JCExpression type, Name name,
+	                                      List<JCTree.JCTypeParameter> typarams, boolean isInterface, boolean isVoid,
+	                                      boolean isRecord, Tokens.Comment dc) {
+		// The only block parsed directly by the method declaration is the body.
+		// Anything else uses a different block parsing method, or is nested in the body.
+		skipNextBlock = true;
+		try {
+			return super.methodDeclaratorRest(pos, mods, type, name, typarams, isInterface, isVoid, isRecord, dc);
+		} finally {
+			skipNextBlock = false;
+		}
+	}
+
+	@Override
+	public JCTree.JCBlock block() {
+		if (!skipNextBlock)
+			return super.block();
+		skipNextBlock = false;
+
+		int pos = token.pos;
+		accept(Tokens.TokenKind.LBRACE);
+		int depth = 1;
+		while (token.kind != Tokens.TokenKind.EOF) {
+			if (token.kind == Tokens.TokenKind.LBRACE)
+				depth++;
+			else if (token.kind == Tokens.TokenKind.RBRACE && --depth == 0)
+				break;
+			nextToken();
+		}
+
+		// Mirror the position handling of a regular block, where the end is the position of the closing brace.
+		JCTree.JCBlock block = F.at(pos).Block(0, List.nil());
+		block.endpos = token.pos;
+		accept(Tokens.TokenKind.RBRACE);
+		return toP(block);
+	}
+}
@@ -0,0 +1,107 @@
+package software.coley.sourcesolver;
+
+import jakarta.annotation.Nonnull;
+import software.coley.sourcesolver.mapping.Mapper;
+import software.coley.sourcesolver.mapping.MappingContext;
+import software.coley.sourcesolver.resolve.BasicResolver;
+import software.coley.sourcesolver.resolve.ResolverFactory;
+import software.coley.sourcesolver.resolve.result.Resolution;
+
+/**
+ * Listener for timings and counts of the work done while parsing, mapping, and resolving.
+ * <p/>
+ * All methods do nothing by default, so implementations only need to override what they are interested in.
+ * Implementations may be called from multiple threads at once when parsers or resolvers are used concurrently.
+ * When no metrics are desired, use {@link #NONE}, which allows callers to skip taking timings entirely.
+ *
+ * @author Matt Coley
+ * @see Parser#setMetrics(SolverMetrics)
+ * @see ResolverFactory#setMetrics(SolverMetrics)
+ */
+public interface SolverMetrics {
+	/**
+	 * Metrics implementation which records nothing.
+	 */
+	SolverMetrics NONE = new SolverMetrics() {
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+	};
+
+	/**
+	 * @return {@code true} when metrics should be recorded.
+	 * {@code false} to skip taking timings for the metrics.
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 * @param phase
+	 * 		Phase of work that was completed.
+	 * @param nanos
+	 * 		Time taken to complete the phase, in nanoseconds.
+	 */
+	default void recordPhase(@Nonnull Phase phase, long nanos) {}
+
+	/**
+	 * Called each time a mapper is used to map a tree, including for trees nested in other trees.
+	 *
+	 * @param mapperType
+	 * 		Type of mapper used.
+	 *
+	 * @see MappingContext#map(Class, com.sun.source.tree.Tree)
+	 */
+	default void recordMapping(@Nonnull Class<? extends Mapper<?, ?>> mapperType) {}
+
+	/**
+	 * Called each time a model is resolved, including for models which are resolved as part of resolving another.
+	 * Thus, the timings of nested resolutions are included in the timings of their outer resolutions.
+	 *
+	 * @param resolution
+	 * 		Result of the resolution. The kind of resolution can be determined by its type.
+	 * @param nanos
+	 * 		Time taken to resolve, in nanoseconds.
+	 */
+	default void recordResolution(@Nonnull Resolution resolution, long nanos) {}
+
+	/**
+	 * Called when a resolver yields a cached result for a model it has already resolved.
+	 */
+	default void recordCacheHit() {}
+
+	/**
+	 * Called when a resolver must resolve a model it has not resolved before.
+	 */
+	default void recordCacheMiss() {}
+
+	/**
+	 * Called each time a resolver looks up a class by name in its pool.
+	 *
+	 * @param found
+	 * 		{@code true} when the pool contained the class.
+	 *
+	 * @see BasicResolver#getPool()
+	 */
+	default void recordPoolLookup(boolean found) {}
+
+	/**
+	 * Phases of work which are timed.
+	 */
+	enum Phase {
+		/**
+		 * Parsing source code into javac's tree model.
+		 */
+		PARSE,
+		/**
+		 * Mapping javac's tree model into our model.
+		 */
+		MAP,
+		/**
+		 * Resolving a model requested from outside the resolver. Resolutions of other models made along the way
+		 * count towards this time, but are not reported as phases of their own.
+		 */
+		RESOLVE
+	}
+}
@@ -28,11 +28,11 @@ public AnnotationExpressionModel map(@Nonnull MappingContext context, @Nonnull E
 			if (argument instanceof AssignmentTree argumentAssign) {
 				// Map value model based on "arg=value"
 				NameExpressionModel nameModel = context.map(NameMapper.class, argumentAssign.getVariable());
-				AbstractExpressionModel valueModel = context.map(ExpressionMapper.class, argumentAssign.getExpression());
+				AbstractExpressionModel valueModel = context.mapExpression(argumentAssign.getExpression());
 				argumentModels.add(new AnnotationArgumentModel(extractRange(table, argument), nameModel, valueModel));
 			} else {
 				// Variable name is implied to be "value"
-				AbstractExpressionModel valueModel = context.map(ExpressionMapper.class, argument);
+				AbstractExpressionModel valueModel = context.mapExpression(argument);
 				argumentModels.add(new AnnotationArgumentModel(extractRange(table, argument), null, valueModel));
 			}
 		}
@@ -26,8 +26,8 @@ public ArrayDeclarationExpressionModel map(@Nonnull MappingContext context, @Non
 		List<? extends ExpressionTree> dimensions = Objects.requireNonNullElse(tree.getDimensions(), Collections.emptyList());
 		List<? extends ExpressionTree> initializers = Objects.requireNonNullElse(tree.getInitializers(), Collections.emptyList());
 
-		List<AbstractExpressionModel> dimensionModels = dimensions.stream().map(e -> context.map(ExpressionMapper.class, e)).toList();
-		List<AbstractExpressionModel> initializersModels = initializers.stream().map(e -> context.map(ExpressionMapper.class, e)).toList();
+		List<AbstractExpressionModel> dimensionModels = dimensions.stream().map(e -> context.mapExpression(e)).toList();
+		List<AbstractExpressionModel> initializersModels = initializers.stream().map(e -> context.mapExpression(e)).toList();
 
 		TypeModel type = context.mapOr(TypeMapper.class, tree.getType(), TypeModel::newVar);
 
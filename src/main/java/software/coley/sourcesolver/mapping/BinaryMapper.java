@@ -15,8 +15,8 @@ public class BinaryMapper implements Mapper<BinaryExpressionModel, BinaryTree> {
 	@Override
 	public BinaryExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull BinaryTree tree) {
 		Range range = extractRange(table, tree);
-		AbstractExpressionModel left = context.map(ExpressionMapper.class, tree.getLeftOperand());
-		AbstractExpressionModel right = context.map(ExpressionMapper.class, tree.getRightOperand());
+		AbstractExpressionModel left = context.mapExpression(tree.getLeftOperand());
+		AbstractExpressionModel right = context.mapExpression(tree.getRightOperand());
 		BinaryExpressionModel.Operator operator =
 				switch (tree.getKind()) {
 					case PLUS -> BinaryExpressionModel.Operator.PLUS;
@@ -22,7 +22,7 @@ public class CaseLabelMapper implements Mapper<AbstractCaseLabelModel, CaseLabel
 	public AbstractCaseLabelModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull CaseLabelTree tree) {
 		Range range = extractRange(table, tree);
 		if (tree instanceof ConstantCaseLabelTree constLabel) {
-			AbstractExpressionModel constant = context.map(ExpressionMapper.class, constLabel.getConstantExpression());
+			AbstractExpressionModel constant = context.mapExpression(constLabel.getConstantExpression());
 			return new ConstCaseLabelModel(range, constant);
 		} else if (tree instanceof PatternCaseLabelTree patternLabel) {
 			AbstractPatternModel patternModel = context.map(PatternMapper.class, patternLabel.getPattern());
@@ -25,11 +25,11 @@ public CaseModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table
 				.map(c -> context.map(CaseLabelMapper.class, c))
 				.toList();
 		List<AbstractExpressionModel> expressions = tree.getExpressions().stream()
-				.map(c -> context.map(ExpressionMapper.class, c))
+				.map(c -> context.mapExpression(c))
 				.toList();
 		Model body = tree.getBody() == null ? null : mapBody(context, tree.getBody());
 		List<AbstractStatementModel> statements = tree.getStatements() == null ? Collections.emptyList() : tree.getStatements().stream()
-				.map(c -> context.map(StatementMapper.class, c))
+				.map(c -> context.mapStatement(c))
 				.toList();
 		return new CaseModel(extractRange(table, tree), labels, expressions, statements, body);
 	}
@@ -37,9 +37,9 @@ public CaseModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table
 	@Nonnull
 	private Model mapBody(@Nonnull MappingContext context, @Nonnull Tree tree) {
 		if (tree instanceof ExpressionTree expression)
-			return context.map(ExpressionMapper.class, expression);
+			return context.mapExpression(expression);
 		else if (tree instanceof StatementTree statementMapper)
-			return context.map(StatementMapper.class, statementMapper);
+			return context.mapStatement(statementMapper);
 		throw new IllegalStateException("Case body was not an expression or statement");
 	}
 }
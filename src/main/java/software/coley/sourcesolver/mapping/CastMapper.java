@@ -29,7 +29,7 @@ public CastExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPosT
 		} else {
 			type = new UnknownExpressionModel(extractRange(table, typeTree), typeTree.toString());
 		}
-		AbstractExpressionModel expression = context.map(ExpressionMapper.class, tree.getExpression());
+		AbstractExpressionModel expression = context.mapExpression(tree.getExpression());
 		return new CastExpressionModel(range, type, expression);
 	}
 }
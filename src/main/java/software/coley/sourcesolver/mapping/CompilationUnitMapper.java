@@ -36,7 +36,7 @@ public CompilationUnitModel map(@Nonnull MappingContext context, @Nonnull EndPos
 					.map(anno -> context.map(AnnotationUseMapper.class, anno))
 					.collect(Collectors.toList());
 		}
-		context.setMapperSupplier(PackageMapper.class, () -> new PackageMapper(packageAnnotations));
+		context.setMapper(PackageMapper.class, new PackageMapper(packageAnnotations));
 		PackageTree packageDeclaration = tree.getPackage();
 		PackageModel packageModel = packageDeclaration == null ? PackageModel.DEFAULT_PACKAGE : context.map(PackageMapper.class, packageDeclaration);
 
@@ -22,29 +22,18 @@ public class ExpressionMapper implements Mapper<AbstractExpressionModel, Express
 	@Nonnull
 	@Override
 	public AbstractExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull ExpressionTree tree) {
+		// Trees handled by a dedicated mapper, such as literals, identifiers, method invocations, lambdas, etc.
+		// See the kind table in the mapping context for the full list.
+		AbstractExpressionModel mapped = context.mapByKind(tree);
+		if (mapped != null)
+			return mapped;
+
 		Range range = extractRange(table, tree);
 
 		// Anything in parentheses
 		if (tree instanceof ParenthesizedTree parenthesized)
 			return new ParenthesizedExpressionModel(range, map(context, table, parenthesized.getExpression()));
 
-		// Strings, integers, floats, etc
-		if (tree instanceof LiteralTree literal)
-			return context.map(LiteralMapper.class, literal);
-
-		// ???
-		if (tree instanceof IdentifierTree identifier)
-			return context.map(IdentifierMapper.class, identifier);
-
-		// Enum.name
-		// Constants.MY_CONSTANT
-		if (tree instanceof MemberSelectTree memberAccess)
-			return context.map(MemberSelectMapper.class, memberAccess);
-
-		// Util.doUtility()
-		if (tree instanceof MethodInvocationTree methodInvoke)
-			return context.map(MethodInvocationMapper.class, methodInvoke);
-
 		// foo = expression
 		if (tree instanceof AssignmentTree assignment) {
 			AbstractExpressionModel variable = map(context, table, assignment.getVariable());
@@ -73,28 +62,6 @@ public AbstractExpressionModel map(@Nonnull MappingContext context, @Nonnull End
 			return new AssignmentExpressionModel(range, variable, expression, operator);
 		}
 
-		// five * two
-		// bit << shift
-		// one || another
-		if (tree instanceof BinaryTree binary)
-			return context.map(BinaryMapper.class, binary);
-
-		// x++
-		if (tree instanceof UnaryTree unary)
-			return context.map(UnaryMapper.class, unary);
-
-		// (Foo) maybeFoo
-		if (tree instanceof TypeCastTree cast)
-			return context.map(CastMapper.class, cast);
-
-		// foo instanceof Bar b
-		if (tree instanceof InstanceOfTree instanceCheck)
-			return context.map(InstanceofMapper.class, instanceCheck);
-
-		// new Foo()
-		if (tree instanceof NewClassTree newClass)
-			return context.map(NewClassMapper.class, newClass);
-
 		// array[0]
 		// array[index++]
 		if (tree instanceof ArrayAccessTree arrayAccess)
@@ -109,35 +76,15 @@ public AbstractExpressionModel map(@Nonnull MappingContext context, @Nonnull End
 					map(context, table, conditional.getTrueExpression()),
 					map(context, table, conditional.getFalseExpression()));
 
-		// new int[N];
-		// { one, two };
-		if (tree instanceof NewArrayTree array)
-			return context.map(ArrayDeclarationMapper.class, array);
-
-		// a -> true
-		// () -> { ... }
-		if (tree instanceof LambdaExpressionTree lambda)
-			return context.map(LambdaMapper.class, lambda);
-
 		// value = switch(foo) { ... }
 		if (tree instanceof SwitchExpressionTree switchExpr) {
-			AbstractExpressionModel expression = context.map(ExpressionMapper.class, switchExpr.getExpression());
+			AbstractExpressionModel expression = context.mapExpression(switchExpr.getExpression());
 			List<CaseModel> cases = switchExpr.getCases().stream()
 					.map(c -> context.map(CaseMapper.class, c))
 					.toList();
 			return new SwitchExpressionModel(range, expression, cases);
 		}
 
-		// String::new
-		// Objects::requireNonNull
-		if (tree instanceof MemberReferenceTree memberReference)
-			return context.map(MemberReferenceMapper.class, memberReference);
-
-		// @Foo
-		// @Foo(fizz = "buzz")
-		if (tree instanceof AnnotationTree annotation)
-			return context.map(AnnotationUseMapper.class, annotation);
-
 		// Bogus garbage that isn't valid java
 		if (tree instanceof ErroneousTree)
 			return new ErroneousExpressionModel(range, tree.toString());
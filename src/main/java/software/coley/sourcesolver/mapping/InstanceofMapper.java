@@ -35,7 +35,7 @@ public InstanceofExpressionModel map(@Nonnull MappingContext context, @Nonnull E
 		} else {
 			type = new UnknownExpressionModel(range, typeTree == null ? "<error>" : typeTree.toString());
 		}
-		AbstractExpressionModel expression = context.map(ExpressionMapper.class, tree.getExpression());
+		AbstractExpressionModel expression = context.mapExpression(tree.getExpression());
 		return new InstanceofExpressionModel(range, expression, type, pattern);
 	}
 }
@@ -26,11 +26,11 @@ public LambdaExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPo
 		if (tree.getBodyKind() == LambdaExpressionTree.BodyKind.STATEMENT
 				&& tree.getBody() instanceof StatementTree statementBody) {
 			kind = LambdaExpressionModel.BodyKind.STATEMENT;
-			body = context.map(StatementMapper.class, statementBody);
+			body = context.mapStatement(statementBody);
 		} else if (tree.getBodyKind() == LambdaExpressionTree.BodyKind.EXPRESSION
 				&& tree.getBody() instanceof ExpressionTree expressionTree) {
 			kind = LambdaExpressionModel.BodyKind.EXPRESSION;
-			body = context.map(ExpressionMapper.class, expressionTree);
+			body = context.mapExpression(expressionTree);
 		} else {
 			kind = LambdaExpressionModel.BodyKind.STATEMENT;
 			body = new UnknownStatementModel(extractRange(table, tree.getBody()), tree.getBody().toString());
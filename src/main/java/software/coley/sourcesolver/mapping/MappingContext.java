@@ -1,26 +1,85 @@
 package software.coley.sourcesolver.mapping;
 
-import com.sun.source.tree.Tree;
+import com.sun.source.tree.*;
 import com.sun.tools.javac.tree.EndPosTable;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import software.coley.sourcesolver.SolverMetrics;
+import software.coley.sourcesolver.model.AbstractExpressionModel;
+import software.coley.sourcesolver.model.AbstractStatementModel;
 import software.coley.sourcesolver.model.Model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
  * Centralized mapping control.
+ * <p>
+ * Mapper registrations are held per context instance, so contexts created for different parse operations
+ * do not share any mutable state and can be used concurrently from different threads.
+ * <p>
+ * In addition to lookups by mapper type, the context holds a table of mappers indexed by {@link Tree.Kind}.
+ * Expressions and statements are dispatched through this table via {@link #mapExpression(ExpressionTree)} and
+ * {@link #mapStatement(StatementTree)}, so that the most common trees do not need to go through a chain of type checks
+ * and mapper lookups. Only trees of kinds not in the table are passed along to the {@link ExpressionMapper} and
+ * {@link StatementMapper}. When either of those is replaced by a custom implementation, the table is bypassed for
+ * that category of tree so that the custom implementation still sees every expression or statement. By default, each kind maps to the mapper registered for the type that handles it,
+ * and is kept in sync when that type is registered again with {@link #setMapper(Class, Mapper)} or
+ * {@link #setMapperSupplier(Class, Supplier)}. Individual kinds can be overridden with
+ * {@link #setKindMapper(Tree.Kind, Mapper)}.
  *
  * @author Matt Coley
  */
 public class MappingContext {
-	private static final Map<Class<?>, Supplier<Mapper<?, ?>>> mapperSuppliersByClass = new IdentityHashMap<>();
+	private static final Tree.Kind[] KINDS = Tree.Kind.values();
+	private static final Map<Tree.Kind, Class<? extends Mapper<?, ?>>> DEFAULT_KIND_MAPPER_TYPES = new EnumMap<>(Tree.Kind.class);
+	private final Map<Class<?>, Mapper<?, ?>> mappersByClass = new IdentityHashMap<>();
+	private final Map<Class<?>, Supplier<Mapper<?, ?>>> mapperSuppliersByClass = new IdentityHashMap<>();
+	private final KindMapping[] mappingsByKind = new KindMapping[KINDS.length];
+	private final Set<Tree.Kind> overriddenKinds = EnumSet.noneOf(Tree.Kind.class);
+	private boolean dispatchExpressionsByKind;
+	private boolean dispatchStatementsByKind;
 	private final EndPosTable table;
 	private final String source;
+	private SolverMetrics metrics = SolverMetrics.NONE;
 	private String className = ".";
 	private boolean isEnum;
+	private boolean lazyMethodBodies;
+
+	static {
+		// Trees which are always handled by a single mapper, regardless of the context they appear in.
+		Map<Class<? extends Tree>, Class<? extends Mapper<?, ?>>> mapperTypesByTreeType = Map.ofEntries(
+				Map.entry(AnnotationTree.class, AnnotationUseMapper.class),
+				Map.entry(BinaryTree.class, BinaryMapper.class),
+				Map.entry(BlockTree.class, BlockMapper.class),
+				Map.entry(ClassTree.class, ClassMapper.class),
+				Map.entry(IdentifierTree.class, IdentifierMapper.class),
+				Map.entry(InstanceOfTree.class, InstanceofMapper.class),
+				Map.entry(LambdaExpressionTree.class, LambdaMapper.class),
+				Map.entry(LiteralTree.class, LiteralMapper.class),
+				Map.entry(MemberReferenceTree.class, MemberReferenceMapper.class),
+				Map.entry(MemberSelectTree.class, MemberSelectMapper.class),
+				Map.entry(MethodInvocationTree.class, MethodInvocationMapper.class),
+				Map.entry(NewArrayTree.class, ArrayDeclarationMapper.class),
+				Map.entry(NewClassTree.class, NewClassMapper.class),
+				Map.entry(TryTree.class, TryMapper.class),
+				Map.entry(TypeCastTree.class, CastMapper.class),
+				Map.entry(UnaryTree.class, UnaryMapper.class),
+				Map.entry(VariableTree.class, VariableMapper.class)
+		);
+		for (Tree.Kind kind : KINDS) {
+			Class<? extends Tree> treeType = kind.asInterface();
+			if (treeType == null)
+				continue;
+			Class<? extends Mapper<?, ?>> mapperType = mapperTypesByTreeType.get(treeType);
+			if (mapperType != null)
+				DEFAULT_KIND_MAPPER_TYPES.put(kind, mapperType);
+		}
+	}
 
 	/**
 	 * @param table
@@ -51,6 +110,22 @@ public EndPosTable getTable() {
 		return table;
 	}
 
+	/**
+	 * @return Metrics listener to record mapper use to.
+	 */
+	@Nonnull
+	public SolverMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param metrics
+	 * 		Metrics listener to record mapper use to.
+	 */
+	public void setMetrics(@Nonnull SolverMetrics metrics) {
+		this.metrics = metrics;
+	}
+
 	/**
 	 * @return Name of class being mapped.
 	 */
@@ -81,6 +156,29 @@ public boolean isEnum() {
 		return isEnum;
 	}
 
+	/**
+	 * @param isEnum
+	 * 		{@code true} when the class being mapped is an enum.
+	 */
+	void setEnum(boolean isEnum) {
+		this.isEnum = isEnum;
+	}
+
+	/**
+	 * @return {@code true} when method bodies should be mapped on demand rather than immediately.
+	 */
+	public boolean isLazyMethodBodies() {
+		return lazyMethodBodies;
+	}
+
+	/**
+	 * @param lazyMethodBodies
+	 * 		{@code true} when method bodies should be mapped on demand rather than immediately.
+	 */
+	public void setLazyMethodBodies(boolean lazyMethodBodies) {
+		this.lazyMethodBodies = lazyMethodBodies;
+	}
+
 	/**
 	 * @param mapperType
 	 * 		Mapper class.
@@ -90,10 +188,16 @@ public boolean isEnum() {
 	 * 		Mapper type.
 	 */
 	public <T extends Mapper<?, ?>> void setMapper(@Nonnull Class<T> mapperType, @Nonnull T mapperImplementation) {
-		setMapperSupplier(mapperType, () -> mapperImplementation);
+		mappersByClass.put(mapperType, mapperImplementation);
+		mapperSuppliersByClass.remove(mapperType);
+		updateKindMappings(mapperType, mapperImplementation);
+		updateDispatch(mapperType, mapperImplementation);
 	}
 
 	/**
+	 * The supplier is called each time the mapper is used. When the same implementation can be used for each tree,
+	 * prefer {@link #setMapper(Class, Mapper)} which allows {@link #mapByKind(Tree)} to skip the supplier lookup.
+	 *
 	 * @param mapperType
 	 * 		Mapper class.
 	 * @param mapperSupplier
@@ -104,6 +208,48 @@ public boolean isEnum() {
 	@SuppressWarnings("unchecked")
 	public <T extends Mapper<?, ?>> void setMapperSupplier(@Nonnull Class<T> mapperType, @Nonnull Supplier<T> mapperSupplier) {
 		mapperSuppliersByClass.put(mapperType, (Supplier<Mapper<?, ?>>) mapperSupplier);
+		mappersByClass.remove(mapperType);
+		updateKindMappings(mapperType, null);
+		updateDispatch(mapperType, null);
+	}
+
+	/**
+	 * Overrides the mapper used for trees of the given kind by {@link #mapByKind(Tree)}.
+	 * The mapper must accept trees of the given kind, and yield models of the type expected where those trees appear.
+	 * For instance, mappers for expression kinds must yield {@link software.coley.sourcesolver.model.AbstractExpressionModel expression models}.
+	 *
+	 * @param kind
+	 * 		Kind of tree to map.
+	 * @param mapper
+	 * 		Mapper to handle trees of the kind, or {@code null} to restore the default handling of the kind.
+	 * @param <T>
+	 * 		Mapper type.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Mapper<?, ?>> void setKindMapper(@Nonnull Tree.Kind kind, @Nullable T mapper) {
+		if (mapper == null) {
+			overriddenKinds.remove(kind);
+			Class<? extends Mapper<?, ?>> defaultType = DEFAULT_KIND_MAPPER_TYPES.get(kind);
+			boolean registered = defaultType != null &&
+					(mappersByClass.containsKey(defaultType) || mapperSuppliersByClass.containsKey(defaultType));
+			mappingsByKind[kind.ordinal()] = registered ? new KindMapping(defaultType, mappersByClass.get(defaultType)) : null;
+		} else {
+			overriddenKinds.add(kind);
+			mappingsByKind[kind.ordinal()] = new KindMapping((Class<? extends Mapper<?, ?>>) mapper.getClass(), mapper);
+		}
+	}
+
+	/**
+	 * @param kind
+	 * 		Kind of tree.
+	 *
+	 * @return Mapper used for trees of the given kind by {@link #mapByKind(Tree)},
+	 * or {@code null} if trees of the kind are not handled by the table.
+	 */
+	@Nullable
+	public Mapper<?, ?> getKindMapper(@Nonnull Tree.Kind kind) {
+		KindMapping mapping = mappingsByKind[kind.ordinal()];
+		return mapping == null ? null : mapping.getMapper(this);
 	}
 
 	/**
@@ -120,6 +266,9 @@ public boolean isEnum() {
 	@Nonnull
 	@SuppressWarnings("unchecked")
 	public <T> T getMapper(Class<T> mapperType) {
+		Mapper<?, ?> registered = mappersByClass.get(mapperType);
+		if (registered != null)
+			return (T) registered;
 		Supplier<Mapper<?, ?>> mapperSupplier = mapperSuppliersByClass.get(mapperType);
 		if (mapperSupplier == null)
 			throw new IllegalStateException("Unknown mapper type requested: " + mapperType);
@@ -148,6 +297,7 @@ public <T> T getMapper(Class<T> mapperType) {
 	public <M extends Model, T extends Tree, X extends Mapper<M, T>> M map(@Nonnull Class<X> mapperType, @Nonnull T tree) {
 		if (tree == null)
 			throw new IllegalStateException("Cannot map 'null' tree value to type " + mapperType.getSimpleName());
+		metrics.recordMapping(mapperType);
 		return getMapper(mapperType).map(this, table, tree);
 	}
 
@@ -172,9 +322,98 @@ public <M extends Model, T extends Tree, X extends Mapper<M, T>> M mapOr(@Nonnul
 	                                                                         @Nonnull Supplier<M> defaultValueSupplier) {
 		if (tree == null)
 			return defaultValueSupplier.get();
+		metrics.recordMapping(mapperType);
 		return getMapper(mapperType).map(this, table, tree);
 	}
 
+	/**
+	 * Maps the given tree with the mapper in the table for the tree's {@link Tree.Kind kind}.
+	 *
+	 * @param tree
+	 * 		Tree to map.
+	 * @param <M>
+	 * 		Model type to output.
+	 *
+	 * @return Model representation of the tree, or {@code null} if there is no mapper for the tree's kind in the table.
+	 * Callers are expected to handle such trees themselves.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <M extends Model> M mapByKind(@Nonnull Tree tree) {
+		KindMapping mapping = mappingsByKind[tree.getKind().ordinal()];
+		if (mapping == null)
+			return null;
+		metrics.recordMapping(mapping.mapperType());
+		return ((Mapper<M, Tree>) mapping.getMapper(this)).map(this, table, tree);
+	}
+
+	/**
+	 * Maps the given expression with the mapper in the table for the tree's {@link Tree.Kind kind},
+	 * or the {@link ExpressionMapper} if the kind is not in the table.
+	 * If the registered {@link ExpressionMapper} is a custom implementation, it is always used instead.
+	 *
+	 * @param tree
+	 * 		Expression to map.
+	 *
+	 * @return Model representation of the expression.
+	 */
+	@Nonnull
+	public AbstractExpressionModel mapExpression(@Nonnull ExpressionTree tree) {
+		AbstractExpressionModel mapped = dispatchExpressionsByKind && tree != null ? mapByKind(tree) : null;
+		return mapped != null ? mapped : map(ExpressionMapper.class, tree);
+	}
+
+	/**
+	 * Maps the given statement with the mapper in the table for the tree's {@link Tree.Kind kind},
+	 * or the {@link StatementMapper} if the kind is not in the table.
+	 * If the registered {@link StatementMapper} is a custom implementation, it is always used instead.
+	 *
+	 * @param tree
+	 * 		Statement to map.
+	 *
+	 * @return Model representation of the statement.
+	 */
+	@Nonnull
+	public AbstractStatementModel mapStatement(@Nonnull StatementTree tree) {
+		AbstractStatementModel mapped = dispatchStatementsByKind && tree != null ? mapByKind(tree) : null;
+		return mapped != null ? mapped : map(StatementMapper.class, tree);
+	}
+
+	/**
+	 * Updates the kind table entries which default to the given mapper type.
+	 *
+	 * @param mapperType
+	 * 		Mapper class.
+	 * @param mapperImplementation
+	 * 		Implementation of the class, or {@code null} if the implementation is provided by a supplier.
+	 */
+	private void updateKindMappings(@Nonnull Class<? extends Mapper<?, ?>> mapperType, @Nullable Mapper<?, ?> mapperImplementation) {
+		KindMapping mapping = new KindMapping(mapperType, mapperImplementation);
+		DEFAULT_KIND_MAPPER_TYPES.forEach((kind, type) -> {
+			if (type == mapperType && !overriddenKinds.contains(kind))
+				mappingsByKind[kind.ordinal()] = mapping;
+		});
+	}
+
+	/**
+	 * Updates whether expressions and statements can skip their mapper and go straight to the kind table.
+	 * This is only the case for the default implementations, since they consult the table first anyway.
+	 * Custom implementations <i>(including those provided by suppliers)</i> may want to handle any tree,
+	 * so they are always given the tree.
+	 *
+	 * @param mapperType
+	 * 		Mapper class.
+	 * @param mapperImplementation
+	 * 		Implementation of the class, or {@code null} if the implementation is provided by a supplier.
+	 */
+	private void updateDispatch(@Nonnull Class<? extends Mapper<?, ?>> mapperType, @Nullable Mapper<?, ?> mapperImplementation) {
+		boolean isDefault = mapperImplementation != null && mapperImplementation.getClass() == mapperType;
+		if (mapperType == ExpressionMapper.class)
+			dispatchExpressionsByKind = isDefault;
+		else if (mapperType == StatementMapper.class)
+			dispatchStatementsByKind = isDefault;
+	}
+
 	/**
 	 * Setup mappers.
 	 */
@@ -214,4 +453,19 @@ private void initializeDefaultMappers() {
 		setMapper(UnaryMapper.class, new UnaryMapper());
 		setMapper(VariableMapper.class, new VariableMapper());
 	}
+
+	/**
+	 * Entry in the kind table.
+	 *
+	 * @param mapperType
+	 * 		Mapper type to report to metrics.
+	 * @param mapper
+	 * 		Mapper implementation, or {@code null} if the implementation is provided by a supplier.
+	 */
+	private record KindMapping(@Nonnull Class<? extends Mapper<?, ?>> mapperType, @Nullable Mapper<?, ?> mapper) {
+		@Nonnull
+		private Mapper<?, ?> getMapper(@Nonnull MappingContext context) {
+			return mapper != null ? mapper : (Mapper<?, ?>) context.getMapper(mapperType);
+		}
+	}
 }
@@ -24,7 +24,7 @@ public MethodReferenceExpressionModel map(@Nonnull MappingContext context, @Nonn
 			case NEW -> MethodReferenceExpressionModel.Mode.NEW;
 		};
 		NameExpressionModel name = new NameExpressionModel(Range.UNKNOWN, tree.getName().toString());
-		AbstractExpressionModel qualifier = context.map(ExpressionMapper.class, tree.getQualifierExpression());
+		AbstractExpressionModel qualifier = context.mapExpression(tree.getQualifierExpression());
 		List<Model> typeArguments = context.map(TypeArgumentsMapper.class, tree::getTypeArguments).getArguments();
 		return new MethodReferenceExpressionModel(range, mode, qualifier, name, typeArguments);
 	}
@@ -14,7 +14,7 @@ public class MemberSelectMapper implements Mapper<MemberSelectExpressionModel, M
 	@Override
 	public MemberSelectExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull MemberSelectTree tree) {
 		String name = tree.getIdentifier().toString();
-		Model selectContext = context.map(ExpressionMapper.class, tree.getExpression());
+		Model selectContext = context.mapExpression(tree.getExpression());
 		return new MemberSelectExpressionModel(extractRange(table, tree), name, selectContext);
 	}
 }
@@ -4,6 +4,7 @@
 import com.sun.tools.javac.tree.EndPosTable;
 import software.coley.sourcesolver.model.AbstractStatementModel;
 import software.coley.sourcesolver.model.MethodBodyModel;
+import software.coley.sourcesolver.util.Range;
 
 import jakarta.annotation.Nonnull;
 import java.util.List;
@@ -14,7 +15,33 @@ public class MethodBodyMapper implements Mapper<MethodBodyModel, BlockTree> {
 	@Nonnull
 	@Override
 	public MethodBodyModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull BlockTree tree) {
-		List<AbstractStatementModel> list = tree.getStatements().stream().map(s -> context.map(StatementMapper.class, s)).toList();
-		return new MethodBodyModel(extractRange(table, tree), list);
+		Range range = extractRange(table, tree);
+		if (!context.isLazyMethodBodies())
+			return new MethodBodyModel(range, mapStatements(context, tree));
+
+		// The context will have moved on to other classes by the time the body is mapped,
+		// so we need to record the state of the context as it is for this body.
+		String className = context.getClassName();
+		boolean isEnum = context.isEnum();
+		return new MethodBodyModel(range, () -> {
+			// Contexts are not safe for concurrent use, and may be shared by many bodies.
+			synchronized (context) {
+				String previousClassName = context.getClassName();
+				boolean previousIsEnum = context.isEnum();
+				context.setClassName(className);
+				context.setEnum(isEnum);
+				try {
+					return mapStatements(context, tree);
+				} finally {
+					context.setClassName(previousClassName);
+					context.setEnum(previousIsEnum);
+				}
+			}
+		});
+	}
+
+	@Nonnull
+	private static List<AbstractStatementModel> mapStatements(@Nonnull MappingContext context, @Nonnull BlockTree tree) {
+		return tree.getStatements().stream().map(s -> context.mapStatement(s)).toList();
 	}
 }
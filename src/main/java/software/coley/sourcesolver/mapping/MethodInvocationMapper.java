@@ -18,8 +18,8 @@ public class MethodInvocationMapper implements Mapper<MethodInvocationExpression
 	public MethodInvocationExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull MethodInvocationTree tree) {
 		Range range = extractRange(table, tree);
 		List<Model> typeArguments = context.map(TypeArgumentsMapper.class, tree::getTypeArguments).getArguments();
-		AbstractExpressionModel methodSelect = context.map(ExpressionMapper.class, tree.getMethodSelect());
-		List<AbstractExpressionModel> arguments = tree.getArguments().stream().map(t -> context.map(ExpressionMapper.class, t)).toList();
+		AbstractExpressionModel methodSelect = context.mapExpression(tree.getMethodSelect());
+		List<AbstractExpressionModel> arguments = tree.getArguments().stream().map(t -> context.mapExpression(t)).toList();
 		return new MethodInvocationExpressionModel(range, typeArguments, methodSelect, arguments);
 	}
 }
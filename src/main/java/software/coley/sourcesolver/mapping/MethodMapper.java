@@ -46,7 +46,7 @@ public MethodModel map(@Nonnull MappingContext context, @Nonnull EndPosTable tab
 		List<VariableModel> parameters = tree.getParameters().stream().map(p -> context.map(VariableMapper.class, p)).toList();
 
 		// throws X,Y,Z
-		List<AbstractExpressionModel> thrownTypes = tree.getThrows().stream().map(t -> context.map(ExpressionMapper.class, t)).toList();
+		List<AbstractExpressionModel> thrownTypes = tree.getThrows().stream().map(t -> context.mapExpression(t)).toList();
 
 		// default value for annotation methods
 		Model defaultValue;
@@ -19,7 +19,7 @@ public class NewClassMapper implements Mapper<NewClassExpressionModel, NewClassT
 	@Override
 	public NewClassExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull NewClassTree tree) {
 		Range range = extractRange(table, tree);
-		AbstractExpressionModel enclosing = tree.getEnclosingExpression() == null ? null : context.map(ExpressionMapper.class, tree.getEnclosingExpression());
+		AbstractExpressionModel enclosing = tree.getEnclosingExpression() == null ? null : context.mapExpression(tree.getEnclosingExpression());
 		List<Model> typeArguments = context.map(TypeArgumentsMapper.class, tree::getTypeArguments).getArguments();
 		AbstractExpressionModel identifier;
 		if (tree.getIdentifier() instanceof ParameterizedTypeTree parameterizedType) {
@@ -30,10 +30,10 @@ public NewClassExpressionModel map(@Nonnull MappingContext context, @Nonnull End
 			// The identifier's type-arguments take precedence. This is a weird design but whatever its seemingly correct.
 			typeArguments = context.map(TypeArgumentsMapper.class, parameterizedType::getTypeArguments).getArguments();
 		} else {
-			identifier = context.map(ExpressionMapper.class, tree.getIdentifier());
+			identifier = context.mapExpression(tree.getIdentifier());
 		}
 
-		List<AbstractExpressionModel> arguments = tree.getArguments().stream().map(t -> context.map(ExpressionMapper.class, t)).toList();
+		List<AbstractExpressionModel> arguments = tree.getArguments().stream().map(t -> context.mapExpression(t)).toList();
 		ClassModel body = tree.getClassBody() == null ? null : context.map(ClassMapper.class, tree.getClassBody());
 		return new NewClassExpressionModel(range, enclosing, typeArguments, identifier, arguments, body);
 	}
@@ -26,7 +26,7 @@ public AbstractPatternModel map(@Nonnull MappingContext context, @Nonnull EndPos
 			VariableModel variable = context.map(VariableMapper.class, bindingTree.getVariable());
 			return new BindingPatternModel(range, variable);
 		} else if (tree instanceof DeconstructionPatternTree deconstructionTree) {
-			AbstractExpressionModel deconstructor = context.map(ExpressionMapper.class, deconstructionTree.getDeconstructor());
+			AbstractExpressionModel deconstructor = context.mapExpression(deconstructionTree.getDeconstructor());
 			List<AbstractPatternModel> nestedPatterns = deconstructionTree.getNestedPatterns().stream()
 					.map(p -> context.map(PatternMapper.class, p))
 					.toList();
@@ -36,7 +36,7 @@ public AbstractPatternModel map(@Nonnull MappingContext context, @Nonnull EndPos
 		// JDK 17 preview feature implementations
 		 else if (tree instanceof GuardedPatternTree guardedTree) {
 			AbstractPatternModel pattern = map(context, table, guardedTree.getPattern());
-			AbstractExpressionModel expression = context.map(ExpressionMapper.class, guardedTree.getExpression());
+			AbstractExpressionModel expression = context.mapExpression(guardedTree.getExpression());
 			return new GuardedPatternModel(range, pattern, expression);
 		} else if (tree instanceof ParenthesizedPatternTree parenthesizedTree) {
 			AbstractPatternModel pattern = map(context, table, parenthesizedTree.getPattern());
@@ -15,28 +15,28 @@ public class StatementMapper implements Mapper<AbstractStatementModel, Statement
 	@Nonnull
 	@Override
 	public AbstractStatementModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull StatementTree tree) {
+		// Trees handled by a dedicated mapper, such as blocks, classes, try blocks and variables.
+		// See the kind table in the mapping context for the full list.
+		AbstractStatementModel mapped = context.mapByKind(tree);
+		if (mapped != null)
+			return mapped;
+
 		Range range = extractRange(table, tree);
 		if (tree instanceof AssertTree assertTree) {
-			AbstractExpressionModel condition = context.map(ExpressionMapper.class, assertTree.getCondition());
-			AbstractExpressionModel detail = assertTree.getDetail() == null ? null : context.map(ExpressionMapper.class, assertTree.getDetail());
+			AbstractExpressionModel condition = context.mapExpression(assertTree.getCondition());
+			AbstractExpressionModel detail = assertTree.getDetail() == null ? null : context.mapExpression(assertTree.getDetail());
 			return new AssertStatementModel(range, condition, detail);
 		}
-		if (tree instanceof BlockTree blockTree) {
-			return context.map(BlockMapper.class, blockTree);
-		}
 		if (tree instanceof BreakTree breakTree) {
 			Name targetLabel = breakTree.getLabel();
 			return new BreakStatementModel(range, targetLabel == null ? null : targetLabel.toString());
 		}
-		if (tree instanceof ClassTree classTree) {
-			return context.map(ClassMapper.class, classTree);
-		}
 		if (tree instanceof ContinueTree continueTree) {
 			Name targetLabel = continueTree.getLabel();
 			return new ContinueStatementModel(range, targetLabel == null ? null : targetLabel.toString());
 		}
 		if (tree instanceof DoWhileLoopTree doWhileLoopTree) {
-			AbstractExpressionModel condition = context.map(ExpressionMapper.class, doWhileLoopTree.getCondition());
+			AbstractExpressionModel condition = context.mapExpression(doWhileLoopTree.getCondition());
 			AbstractStatementModel statement = map(context, table, doWhileLoopTree.getStatement());
 			return new DoWhileLoopStatementModel(range, condition, statement);
 		}
@@ -45,12 +45,12 @@ public AbstractStatementModel map(@Nonnull MappingContext context, @Nonnull EndP
 		}
 		if (tree instanceof EnhancedForLoopTree enhancedForLoopTree) {
 			VariableModel variable = context.map(VariableMapper.class, enhancedForLoopTree.getVariable());
-			AbstractExpressionModel expression = context.map(ExpressionMapper.class, enhancedForLoopTree.getExpression());
+			AbstractExpressionModel expression = context.mapExpression(enhancedForLoopTree.getExpression());
 			AbstractStatementModel statement = map(context, table, enhancedForLoopTree.getStatement());
 			return new EnhancedForLoopStatementModel(range, variable, expression, statement);
 		}
 		if (tree instanceof ExpressionStatementTree expressionStatementTree) {
-			AbstractExpressionModel expression = context.map(ExpressionMapper.class, expressionStatementTree.getExpression());
+			AbstractExpressionModel expression = context.mapExpression(expressionStatementTree.getExpression());
 			return (expression instanceof ErroneousModel) ?
 					new ErroneousExpressionStatementModel(range, expression) :
 					new ExpressionStatementModel(range, expression);
@@ -62,12 +62,12 @@ public AbstractStatementModel map(@Nonnull MappingContext context, @Nonnull EndP
 			List<AbstractStatementModel> updateStatements = forLoopTree.getUpdate().stream()
 					.map(s -> map(context, table, s))
 					.toList();
-			AbstractExpressionModel condition = context.map(ExpressionMapper.class, forLoopTree.getCondition());
+			AbstractExpressionModel condition = context.mapExpression(forLoopTree.getCondition());
 			AbstractStatementModel statement = map(context, table, forLoopTree.getStatement());
 			return new ForLoopStatementModel(range, initializerStatements, updateStatements, condition, statement);
 		}
 		if (tree instanceof IfTree ifTree) {
-			AbstractExpressionModel condition = context.map(ExpressionMapper.class, ifTree.getCondition());
+			AbstractExpressionModel condition = context.mapExpression(ifTree.getCondition());
 			AbstractStatementModel thenStatement = map(context, table, ifTree.getThenStatement());
 			AbstractStatementModel elseStatement = ifTree.getElseStatement() == null ? null : map(context, table, ifTree.getElseStatement());
 			return new IfStatementModel(range, condition, thenStatement, elseStatement);
@@ -78,11 +78,11 @@ public AbstractStatementModel map(@Nonnull MappingContext context, @Nonnull EndP
 			return new LabeledStatementModel(range, targetLabel == null ? null : targetLabel.toString(), statement);
 		}
 		if (tree instanceof ReturnTree returnTree) {
-			AbstractExpressionModel expression = returnTree.getExpression() == null ? null : context.map(ExpressionMapper.class, returnTree.getExpression());
+			AbstractExpressionModel expression = returnTree.getExpression() == null ? null : context.mapExpression(returnTree.getExpression());
 			return new ReturnStatementModel(range, expression);
 		}
 		if (tree instanceof SwitchTree switchTree) {
-			AbstractExpressionModel expression = context.map(ExpressionMapper.class, switchTree.getExpression());
+			AbstractExpressionModel expression = context.mapExpression(switchTree.getExpression());
 			List<CaseModel> cases = switchTree.getCases().stream()
 					.map(c -> context.map(CaseMapper.class, c))
 					.toList();
@@ -90,25 +90,19 @@ public AbstractStatementModel map(@Nonnull MappingContext context, @Nonnull EndP
 		}
 		if (tree instanceof SynchronizedTree synchronizedTree) {
 			return new SynchronizedStatementModel(range,
-					context.map(ExpressionMapper.class, synchronizedTree.getExpression()),
+					context.mapExpression(synchronizedTree.getExpression()),
 					context.map(BlockMapper.class, synchronizedTree.getBlock()));
 		}
 		if (tree instanceof ThrowTree throwTree) {
-			return new ThrowStatementModel(range, context.map(ExpressionMapper.class, throwTree.getExpression()));
-		}
-		if (tree instanceof TryTree tryTree) {
-			return context.map(TryMapper.class, tryTree);
-		}
-		if (tree instanceof VariableTree variableTree) {
-			return context.map(VariableMapper.class, variableTree);
+			return new ThrowStatementModel(range, context.mapExpression(throwTree.getExpression()));
 		}
 		if (tree instanceof WhileLoopTree whileLoopTree) {
-			AbstractExpressionModel condition = context.map(ExpressionMapper.class, whileLoopTree.getCondition());
+			AbstractExpressionModel condition = context.mapExpression(whileLoopTree.getCondition());
 			AbstractStatementModel statement = map(context, table, whileLoopTree.getStatement());
 			return new WhileLoopStatementModel(range, condition, statement);
 		}
 		if (tree instanceof YieldTree yieldTree) {
-			return new YieldStatementModel(range, context.map(ExpressionMapper.class, yieldTree.getValue()));
+			return new YieldStatementModel(range, context.mapExpression(yieldTree.getValue()));
 		}
 
 		// Generic fallback
@@ -24,7 +24,11 @@ public MethodModel map(@Nonnull MappingContext context, @Nonnull EndPosTable tab
 		TypeModel.Primitive returnType = new TypeModel.Primitive(keywordRange, new NameExpressionModel(Range.UNKNOWN, "void"));
 		ModifiersModel modifiers = new ModifiersModel(keywordRange, Collections.singleton("static"));
 		MethodBodyModel body = context.map(MethodBodyMapper.class, tree);
-		body = new MethodBodyModel(blockRange, body.getStatements()); // Shift the range forward to by rebuilding with 'blockRange'
+		// Shift the range forward to by rebuilding with 'blockRange'
+		if (body.isMaterialized())
+			body = new MethodBodyModel(blockRange, body.getStatements());
+		else
+			body = new MethodBodyModel(blockRange, body::getStatements);
 		return new MethodModel(methodRange, "<clinit>", modifiers,
 				Collections.emptyList(), returnType, Collections.emptyList(), null, Collections.emptyList(),
 				Collections.emptyList(), body);
@@ -23,9 +23,9 @@ public TryStatementModel map(@Nonnull MappingContext context, @Nonnull EndPosTab
 		List<Model> resources = tree.getResources().stream().map(t -> {
 			Model model;
 			if (t instanceof ExpressionTree e)
-				model = context.map(ExpressionMapper.class, e);
+				model = context.mapExpression(e);
 			else if (t instanceof StatementTree s)
-				model = context.map(StatementMapper.class, s);
+				model = context.mapStatement(s);
 			else
 				throw new IllegalStateException("Unsupported catch resource AST node: " + t.getClass().getSimpleName());
 			return model;
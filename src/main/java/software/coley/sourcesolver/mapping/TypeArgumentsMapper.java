@@ -22,9 +22,9 @@ public Args map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nu
 				tree.getTypeArguments().stream().map(t -> {
 					Model model;
 					if (t instanceof ExpressionTree e)
-						model = context.map(ExpressionMapper.class, e);
+						model = context.mapExpression(e);
 					else if (t instanceof StatementTree s)
-						model = context.map(StatementMapper.class, s);
+						model = context.mapStatement(s);
 					else
 						throw new IllegalStateException("Unsupported type argument AST node: " + t.getClass().getSimpleName());
 					return model;
@@ -15,7 +15,7 @@ public class UnaryMapper implements Mapper<UnaryExpressionModel, UnaryTree> {
 	@Override
 	public UnaryExpressionModel map(@Nonnull MappingContext context, @Nonnull EndPosTable table, @Nonnull UnaryTree tree) {
 		Range range = extractRange(table, tree);
-		AbstractExpressionModel expression = context.map(ExpressionMapper.class, tree.getExpression());
+		AbstractExpressionModel expression = context.mapExpression(tree.getExpression());
 		UnaryExpressionModel.Operator operator = switch (tree.getKind()) {
 			case POSTFIX_INCREMENT -> UnaryExpressionModel.Operator.POST_INCREMENT;
 			case POSTFIX_DECREMENT -> UnaryExpressionModel.Operator.POST_DECREMENT;
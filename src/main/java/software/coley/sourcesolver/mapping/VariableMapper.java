@@ -32,7 +32,7 @@ public VariableModel map(@Nonnull MappingContext context, @Nonnull EndPosTable t
 		String name = tree.getName().toString();
 
 		ExpressionTree initializer = tree.getInitializer();
-		Model valueModel = initializer == null ? null : context.map(ExpressionMapper.class, initializer);
+		Model valueModel = initializer == null ? null : context.mapExpression(initializer);
 
 		// Workaround for JDK 26+ enum bullshit where the synthetic type tree range begins at the same position as the name
 		// which would otherwise break the resolver.
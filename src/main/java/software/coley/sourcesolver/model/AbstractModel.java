@@ -10,14 +10,17 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public abstract class AbstractModel implements Model {
+	private static final int CHILD_INDEX_THRESHOLD = 8;
 	private final List<Model> children;
-	private final Range range;
+	private Range range;
 	private Model parent;
-	private Resolution resolution;
+	private ChildIndex childIndex;
 
 	protected AbstractModel(@Nonnull Range range) {
 		this.range = range;
@@ -55,12 +58,96 @@ private static List<Model> extractChildren(@Nonnull Stream<Model> stream) {
 				.toList();
 	}
 
+	/**
+	 * Shifts the range of this model and all of its children to account for a change in text length at the given position.
+	 * Any range boundary at or beyond the position is moved by the given amount.
+	 * <p>
+	 * This allows untouched models to be carried over into a new tree when a source edit is applied incrementally.
+	 * The {@link Range} instances themselves are never modified. Instead, this model is given a new range, which means
+	 * that the tree this model belonged to no longer matches its source, and must not be used afterwards.
+	 *
+	 * @param position
+	 * 		Position in the original source code where the text length changed.
+	 * @param delta
+	 * 		Amount to shift range boundaries by.
+	 *
+	 * @see software.coley.sourcesolver.Parser#reparse(CompilationUnitModel, software.coley.sourcesolver.util.TextEdit)
+	 */
+	public void shift(int position, int delta) {
+		shift(position, delta, Collections.newSetFromMap(new IdentityHashMap<>()));
+	}
+
+	private void shift(int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		// Some models are shared between multiple parents, so we must be careful to only shift them once.
+		if (!visited.add(this))
+			return;
+		childIndex = null;
+		if (delta != 0 && !range.isUnknown()) {
+			int begin = range.begin();
+			int end = range.end();
+			if (begin >= position) begin += delta;
+			if (end >= position) end += delta;
+			range = new Range(begin, end);
+		}
+		shiftHeldModels(position, delta, visited);
+	}
+
+	/**
+	 * Shifts the models held by this model. By default, these are the {@link #getChildren() children} of this model.
+	 * Models which hold other models outside their children must override this to shift those models as well.
+	 *
+	 * @param position
+	 * 		Position in the original source code where the text length changed.
+	 * @param delta
+	 * 		Amount to shift range boundaries by.
+	 * @param visited
+	 * 		Models which have already been shifted.
+	 */
+	protected void shiftHeldModels(int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		for (Model child : getChildren())
+			shiftHeldModel(child, position, delta, visited);
+	}
+
+	/**
+	 * @param model
+	 * 		Model to shift, if it has not already been shifted.
+	 * @param position
+	 * 		Position in the original source code where the text length changed.
+	 * @param delta
+	 * 		Amount to shift range boundaries by.
+	 * @param visited
+	 * 		Models which have already been shifted.
+	 */
+	protected static void shiftHeldModel(@Nullable Model model, int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		if (model instanceof AbstractModel abstractModel)
+			abstractModel.shift(position, delta, visited);
+	}
+
 	@Nonnull
 	@Override
 	public Resolution resolveAt(@Nonnull Resolver resolver, int position) {
-		if (resolution == null)
-			resolution = resolver.resolveAt(position, this);
-		return resolution;
+		// Resolutions are cached by the resolver, since the same model can be resolved by many resolvers.
+		return resolver.resolveAt(position, this);
+	}
+
+	@Nullable
+	@Override
+	public Model getChildAtPosition(int position) {
+		// Small lists are fine to scan linearly.
+		List<Model> children = getChildren();
+		if (children.size() < CHILD_INDEX_THRESHOLD)
+			return Model.super.getChildAtPosition(position);
+
+		ChildIndex index = childIndex;
+		if (index == null)
+			childIndex = index = ChildIndex.of(children);
+
+		// Children are sorted by their start position, so all children in [0, upper) begin at or before the position.
+		// The first child in that span which contains the position is the first to end at or after the position,
+		// which is where the running maximum of end positions first reaches the position.
+		int upper = firstIndexAbove(index.begins(), position);
+		int first = firstIndexAtOrAbove(index.maxEnds(), position);
+		return first < upper ? children.get(first) : null;
 	}
 
 	@Nonnull
@@ -69,6 +156,23 @@ public List<Model> getChildren() {
 		return children;
 	}
 
+	/**
+	 * For models which provide their own children after construction, rather than passing them to the constructor.
+	 *
+	 * @param models
+	 * 		Models to link to this model as their parent.
+	 *
+	 * @return Children list of the given models, in the same form as the list passed to the constructor would be.
+	 */
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	protected final List<Model> adoptChildren(@Nonnull Collection<? extends Model> models) {
+		List<Model> list = extractChildren((Stream<Model>) models.stream());
+		for (Model child : models)
+			if (child instanceof AbstractModel abstractChild) abstractChild.parent = this;
+		return list;
+	}
+
 	@Nullable
 	@Override
 	public Model getParent() {
@@ -81,6 +185,47 @@ public Range getRange() {
 		return range;
 	}
 
+	private static int firstIndexAbove(@Nonnull int[] sorted, int value) {
+		return firstIndexAtOrAbove(sorted, value + 1);
+	}
+
+	private static int firstIndexAtOrAbove(@Nonnull int[] sorted, int value) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] < value)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	/**
+	 * Lookup table for finding children by position.
+	 *
+	 * @param begins
+	 * 		Start positions of each child.
+	 * @param maxEnds
+	 * 		Running maximum of end positions of each child.
+	 */
+	private record ChildIndex(@Nonnull int[] begins, @Nonnull int[] maxEnds) {
+		@Nonnull
+		private static ChildIndex of(@Nonnull List<Model> children) {
+			int count = children.size();
+			int[] begins = new int[count];
+			int[] maxEnds = new int[count];
+			int maxEnd = Integer.MIN_VALUE;
+			for (int i = 0; i < count; i++) {
+				Range range = children.get(i).getRange();
+				begins[i] = range.begin();
+				maxEnds[i] = maxEnd = Math.max(maxEnd, range.end());
+			}
+			return new ChildIndex(begins, maxEnds);
+		}
+	}
+
 	@Override
 	public abstract boolean equals(Object o);
 
@@ -4,6 +4,7 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.Objects;
 
 import static software.coley.sourcesolver.model.ChildSupplier.of;
 
@@ -46,7 +47,7 @@ public boolean equals(Object o) {
 
 		AnnotationArgumentModel that = (AnnotationArgumentModel) o;
 
-		if (!nameModel.equals(that.nameModel)) return false;
+		if (!Objects.equals(nameModel, that.nameModel)) return false;
 		if (!getRange().equals(that.getRange())) return false;
 		return valueModel.equals(that.valueModel);
 	}
@@ -54,7 +55,7 @@ public boolean equals(Object o) {
 	@Override
 	public int hashCode() {
 		int result = getRange().hashCode();
-		result = 31 * result + nameModel.hashCode();
+		result = 31 * result + Objects.hashCode(nameModel);
 		result = 31 * result + valueModel.hashCode();
 		return result;
 	}
@@ -6,6 +6,7 @@
 import jakarta.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static software.coley.sourcesolver.model.ChildSupplier.of;
 
@@ -105,6 +106,12 @@ public List<ClassModel> getInnerClasses() {
 		return innerClasses;
 	}
 
+	@Override
+	protected void shiftHeldModels(int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		super.shiftHeldModels(position, delta, visited);
+		shiftHeldModel(modifiers, position, delta, visited);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
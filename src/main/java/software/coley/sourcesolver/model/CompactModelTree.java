@@ -0,0 +1,368 @@
+package software.coley.sourcesolver.model;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.sourcesolver.util.Range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compact representation of the structure of a {@link CompilationUnitModel}.
+ * <p/>
+ * The kind, range, and links of each model in the tree are stored in flat {@code int} arrays, where each model is
+ * a node identified by its index in a pre-order walk of the tree. The root unit is always node {@code 0}. This allows
+ * navigating the tree and finding nodes by position without keeping the model objects around. The full models are
+ * held until {@link #releaseModels()} is called, after which they are re-parsed from the source when next requested.
+ * <p/>
+ * Method bodies which have not been mapped yet, see {@link MethodBodyModel#isMaterialized()}, are kept as leaf nodes
+ * so that building the tree does not map them. Their statements are not part of the tree, even if they are mapped later.
+ * <p/>
+ * This is intended for holding onto many units at once, such as in an editor with many open files,
+ * where most units are not actively being inspected at any given time.
+ *
+ * @author Matt Coley
+ */
+public class CompactModelTree {
+	/**
+	 * Index used to indicate the lack of a node, such as the parent of the root node.
+	 */
+	public static final int NO_NODE = -1;
+	private final String source;
+	private final Function<String, CompilationUnitModel> parseFunction;
+	private final List<Class<? extends Model>> kindTypes = new ArrayList<>();
+	private final int[] kinds;
+	private final int[] begins;
+	private final int[] ends;
+	private final int[] parents;
+	private final int[] childOffsets;
+	private final int[] childNodes;
+	private final int[] childMaxEnds;
+	private volatile Model[] models;
+
+	/**
+	 * @param unit
+	 * 		Unit to represent.
+	 * @param parseFunction
+	 * 		Function to parse the unit's source again when its models are requested after being released.
+	 * 		Must yield the same structure as the given unit for the same source.
+	 */
+	public CompactModelTree(@Nonnull CompilationUnitModel unit, @Nonnull Function<String, CompilationUnitModel> parseFunction) {
+		this.source = unit.getInputSource();
+		this.parseFunction = parseFunction;
+
+		List<Model> nodeList = new ArrayList<>();
+		List<Integer> parentList = new ArrayList<>();
+		flatten(unit, NO_NODE, nodeList, parentList);
+		Model[] nodes = nodeList.toArray(Model[]::new);
+		int count = nodes.length;
+		kinds = new int[count];
+		begins = new int[count];
+		ends = new int[count];
+		parents = new int[count];
+		childOffsets = new int[count + 1];
+		childNodes = new int[Math.max(0, count - 1)];
+		childMaxEnds = new int[childNodes.length];
+		Map<Class<? extends Model>, Integer> kindIndices = new IdentityHashMap<>();
+		for (int i = 0; i < count; i++) {
+			Model model = nodes[i];
+			kinds[i] = kindIndices.computeIfAbsent(model.getClass(), type -> {
+				kindTypes.add(type);
+				return kindTypes.size() - 1;
+			});
+			Range range = model.getRange();
+			begins[i] = range.begin();
+			ends[i] = range.end();
+
+			int parent = parentList.get(i);
+			parents[i] = parent;
+			if (parent != NO_NODE)
+				childOffsets[parent + 1]++;
+		}
+
+		// The children of each node are stored in a contiguous span, in the same order as they appear in their parent.
+		// Nodes are in pre-order, so filling the spans in node order keeps children in that order.
+		// Alongside each child is the running maximum of end positions in its span, for position lookups.
+		for (int i = 0; i < count; i++)
+			childOffsets[i + 1] += childOffsets[i];
+		int[] childCounts = new int[count];
+		for (int i = 1; i < count; i++) {
+			int parent = parents[i];
+			int slot = childOffsets[parent] + childCounts[parent]++;
+			childNodes[slot] = i;
+			childMaxEnds[slot] = slot == childOffsets[parent] ? ends[i] : Math.max(childMaxEnds[slot - 1], ends[i]);
+		}
+		models = nodes;
+	}
+
+	/**
+	 * @return Source code of the unit.
+	 */
+	@Nonnull
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * @return Number of nodes in the tree.
+	 */
+	public int size() {
+		return kinds.length;
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Type of model the node represents.
+	 */
+	@Nonnull
+	public Class<? extends Model> getKind(int node) {
+		return kindTypes.get(kinds[node]);
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Start of the node's range.
+	 */
+	public int getBegin(int node) {
+		return begins[node];
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return End of the node's range.
+	 */
+	public int getEnd(int node) {
+		return ends[node];
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Range of the node.
+	 */
+	@Nonnull
+	public Range getRange(int node) {
+		return new Range(begins[node], ends[node]);
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Index of the node's parent, or {@link #NO_NODE} for the root node.
+	 */
+	public int getParent(int node) {
+		return parents[node];
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Number of children of the node.
+	 */
+	public int getChildCount(int node) {
+		return childOffsets[node + 1] - childOffsets[node];
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Index of the node's first child, or {@link #NO_NODE} if it has no children.
+	 */
+	public int getFirstChild(int node) {
+		int offset = childOffsets[node];
+		return offset < childOffsets[node + 1] ? childNodes[offset] : NO_NODE;
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Index of the next child of the node's parent, or {@link #NO_NODE} if it is the last child.
+	 */
+	public int getNextSibling(int node) {
+		int parent = parents[node];
+		if (parent == NO_NODE)
+			return NO_NODE;
+		int slot = Arrays.binarySearch(childNodes, childOffsets[parent], childOffsets[parent + 1], node) + 1;
+		return slot < childOffsets[parent + 1] ? childNodes[slot] : NO_NODE;
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 * @param position
+	 * 		Absolute position in the source code.
+	 *
+	 * @return Index of the child of the given node that contains the given position,
+	 * or {@link #NO_NODE} if no child contains the given point.
+	 *
+	 * @see Model#getChildAtPosition(int)
+	 */
+	public int getChildAtPosition(int node, int position) {
+		// Same approach as the child index of models, see AbstractModel.getChildAtPosition(int).
+		// Children are sorted by their start position, so all children in [from, upper) begin at or before the position.
+		// The first child in that span which contains the position is the first to end at or after the position,
+		// which is where the running maximum of end positions first reaches the position.
+		int from = childOffsets[node];
+		int to = childOffsets[node + 1];
+		int upper = from;
+		int high = to;
+		while (upper < high) {
+			int mid = (upper + high) >>> 1;
+			if (begins[childNodes[mid]] <= position)
+				upper = mid + 1;
+			else
+				high = mid;
+		}
+		int first = from;
+		high = upper;
+		while (first < high) {
+			int mid = (first + high) >>> 1;
+			if (childMaxEnds[mid] < position)
+				first = mid + 1;
+			else
+				high = mid;
+		}
+		return first < upper ? childNodes[first] : NO_NODE;
+	}
+
+	/**
+	 * @param position
+	 * 		Absolute position in the source code.
+	 *
+	 * @return Index of the deepest node that contains the given position.
+	 */
+	public int getDeepestNodeAtPosition(int position) {
+		int node = 0;
+		int child;
+		while ((child = getChildAtPosition(node, position)) != NO_NODE)
+			node = child;
+		return node;
+	}
+
+	/**
+	 * @param node
+	 * 		Index of node.
+	 *
+	 * @return Model of the node. If the models of this tree have been released, the source is parsed again.
+	 */
+	@Nonnull
+	public Model getModel(int node) {
+		return getModels()[node];
+	}
+
+	/**
+	 * @return Model of the unit. If the models of this tree have been released, the source is parsed again.
+	 */
+	@Nonnull
+	public CompilationUnitModel getUnit() {
+		return (CompilationUnitModel) getModel(0);
+	}
+
+	/**
+	 * @param model
+	 * 		Some model in the currently held unit.
+	 *
+	 * @return Index of the node representing the model, or {@link #NO_NODE} if the model is not currently held by this tree.
+	 */
+	public int indexOf(@Nonnull Model model) {
+		Model[] nodes = getHeldModels();
+		if (nodes != null)
+			for (int i = 0; i < nodes.length; i++)
+				if (nodes[i] == model)
+					return i;
+		return NO_NODE;
+	}
+
+	/**
+	 * @return {@code true} when the models of this tree are currently held, and can be provided without parsing.
+	 */
+	public boolean isHoldingModels() {
+		return getHeldModels() != null;
+	}
+
+	/**
+	 * Drops the models of this tree, so that they can be collected. They will be parsed again when next requested.
+	 * Callers holding many trees decide which ones to release, such as those for units not currently being inspected.
+	 */
+	public void releaseModels() {
+		models = null;
+	}
+
+	@Nullable
+	private Model[] getHeldModels() {
+		return models;
+	}
+
+	@Nonnull
+	private Model[] getModels() {
+		Model[] nodes = getHeldModels();
+		if (nodes == null) {
+			nodes = new Model[kinds.length];
+			if (!collect(parseFunction.apply(source), 0, nodes))
+				throw new IllegalStateException("Parsing the source again yielded a different tree structure");
+			models = nodes;
+		}
+		return nodes;
+	}
+
+	/**
+	 * Walks the given model along the structure of this tree, collecting the model of each node.
+	 *
+	 * @param model
+	 * 		Model to check against the node, and collect.
+	 * @param node
+	 * 		Index of node.
+	 * @param nodes
+	 * 		Array to collect models into.
+	 *
+	 * @return {@code true} when the model and its children have the same kinds, ranges, and links as the nodes of this tree.
+	 */
+	private boolean collect(@Nonnull Model model, int node, @Nonnull Model[] nodes) {
+		Range range = model.getRange();
+		if (model.getClass() != kindTypes.get(kinds[node]) || range.begin() != begins[node] || range.end() != ends[node])
+			return false;
+		nodes[node] = model;
+
+		// Method bodies may have been leaves when this tree was built because they were not mapped yet.
+		// We do not want to map them here either.
+		int from = childOffsets[node];
+		int to = childOffsets[node + 1];
+		if (from == to)
+			return model instanceof MethodBodyModel || model.getChildren().isEmpty();
+		List<Model> children = model.getChildren();
+		if (children.size() != to - from)
+			return false;
+		for (int i = from; i < to; i++)
+			if (!collect(children.get(i - from), childNodes[i], nodes))
+				return false;
+		return true;
+	}
+
+	private static void flatten(@Nonnull Model model, int parent, @Nonnull List<Model> nodes, @Nonnull List<Integer> parents) {
+		// Models can be shared between multiple parents, so we cannot rely on the model's parent reference.
+		// Instead, we track the index of the parent we are walking through.
+		int index = nodes.size();
+		nodes.add(model);
+		parents.add(parent);
+		// Walking into bodies which are not mapped yet would map them, so they are kept as leaves.
+		if (model instanceof MethodBodyModel body && !body.isMaterialized())
+			return;
+		for (Model child : model.getChildren())
+			flatten(child, index, nodes, parents);
+	}
+}
@@ -4,6 +4,7 @@
 
 import jakarta.annotation.Nonnull;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ForLoopStatementModel extends AbstractStatementModel {
@@ -44,6 +45,15 @@ public AbstractStatementModel getStatement() {
 		return statement;
 	}
 
+	@Override
+	protected void shiftHeldModels(int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		super.shiftHeldModels(position, delta, visited);
+		for (AbstractStatementModel initializerStatement : initializerStatements)
+			shiftHeldModel(initializerStatement, position, delta, visited);
+		for (AbstractStatementModel updateStatement : updateStatements)
+			shiftHeldModel(updateStatement, position, delta, visited);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -3,6 +3,7 @@
 import software.coley.sourcesolver.util.Range;
 
 import jakarta.annotation.Nonnull;
+import java.util.Set;
 
 /**
  * Model switch pattern matching as described in the JDK 17 preview feature implementation.
@@ -33,6 +34,13 @@ public AbstractExpressionModel getExpression() {
 		return expression;
 	}
 
+	@Override
+	protected void shiftHeldModels(int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		super.shiftHeldModels(position, delta, visited);
+		shiftHeldModel(pattern, position, delta, visited);
+		shiftHeldModel(expression, position, delta, visited);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -3,20 +3,103 @@
 import software.coley.sourcesolver.util.Range;
 
 import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class MethodBodyModel extends AbstractModel {
 	private final List<AbstractStatementModel> statements;
+	private final LazyStatements lazyStatements;
 
 	public MethodBodyModel(@Nonnull Range range, @Nonnull List<AbstractStatementModel> statements) {
 		super(range, statements);
 		this.statements = statements;
+		this.lazyStatements = null;
+	}
+
+	/**
+	 * Constructor for a body which maps its statements when they are first requested,
+	 * either directly or through {@link #getChildren()}.
+	 *
+	 * @param range
+	 * 		Range of the body.
+	 * @param statementsSupplier
+	 * 		Supplier of the body's statements, called at most once.
+	 */
+	public MethodBodyModel(@Nonnull Range range, @Nonnull Supplier<List<AbstractStatementModel>> statementsSupplier) {
+		super(range);
+		this.statements = null;
+		this.lazyStatements = new LazyStatements(statementsSupplier);
 	}
 
 	@Nonnull
 	public List<AbstractStatementModel> getStatements() {
-		return statements;
+		if (lazyStatements == null)
+			return statements;
+		return materialize().statements;
+	}
+
+	/**
+	 * @return {@code true} when the statements of this body have been mapped.
+	 * Always {@code true} for bodies which were not created with a statement supplier.
+	 */
+	public boolean isMaterialized() {
+		return lazyStatements == null || lazyStatements.statements != null;
+	}
+
+	@Nonnull
+	@Override
+	public List<Model> getChildren() {
+		if (lazyStatements == null)
+			return super.getChildren();
+		return materialize().children;
+	}
+
+	@Override
+	protected void shiftHeldModels(int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		// Bodies which have not been mapped yet record the shift, to be applied once they are mapped.
+		LazyStatements lazy = lazyStatements;
+		if (lazy != null) {
+			synchronized (lazy) {
+				if (lazy.statements == null) {
+					lazy.pendingShifts.add(new int[]{position, delta});
+					return;
+				}
+			}
+		}
+		super.shiftHeldModels(position, delta, visited);
+	}
+
+	@Nonnull
+	private LazyStatements materialize() {
+		LazyStatements lazy = lazyStatements;
+		if (lazy.statements == null) {
+			synchronized (lazy) {
+				if (lazy.statements == null) {
+					List<AbstractStatementModel> list = lazy.supplier.get();
+					List<Model> children = adoptChildren(list);
+
+					// Statements are mapped with the positions of the source the body was created from,
+					// so any shifts recorded since then need to be applied in the order they were made.
+					for (int[] shift : lazy.pendingShifts) {
+						Set<AbstractModel> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+						for (Model child : children)
+							shiftHeldModel(child, shift[0], shift[1], visited);
+					}
+					lazy.children = children;
+					lazy.statements = list;
+
+					// Not needed anymore, let anything the supplier captured be collected.
+					lazy.supplier = null;
+					lazy.pendingShifts = null;
+				}
+			}
+		}
+		return lazy;
 	}
 
 	@Override
@@ -26,16 +109,30 @@ public boolean equals(Object o) {
 
 		MethodBodyModel that = (MethodBodyModel) o;
 
-		return statements.equals(that.statements) && getRange().equals(that.getRange());
+		return getStatements().equals(that.getStatements()) && getRange().equals(that.getRange());
 	}
 
 	@Override
 	public int hashCode() {
-		return statements.hashCode() + (31 * getRange().hashCode());
+		return getStatements().hashCode() + (31 * getRange().hashCode());
 	}
 
 	@Override
 	public String toString() {
-		return "{\n    " + statements.stream().map(Object::toString).collect(Collectors.joining("\n    ")) + "\n}";
+		return "{\n    " + getStatements().stream().map(Object::toString).collect(Collectors.joining("\n    ")) + "\n}";
+	}
+
+	/**
+	 * State of a body which maps its statements when they are first requested.
+	 */
+	private static class LazyStatements {
+		private volatile List<AbstractStatementModel> statements;
+		private List<Model> children;
+		private Supplier<List<AbstractStatementModel>> supplier;
+		private List<int[]> pendingShifts = new ArrayList<>();
+
+		private LazyStatements(@Nonnull Supplier<List<AbstractStatementModel>> supplier) {
+			this.supplier = supplier;
+		}
 	}
 }
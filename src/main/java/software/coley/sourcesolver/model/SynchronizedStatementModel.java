@@ -3,6 +3,7 @@
 import software.coley.sourcesolver.util.Range;
 
 import jakarta.annotation.Nonnull;
+import java.util.Set;
 
 public class SynchronizedStatementModel extends AbstractStatementModel {
 	private final AbstractExpressionModel expression;
@@ -24,6 +25,13 @@ public BlockStatementModel getBlock() {
 		return block;
 	}
 
+	@Override
+	protected void shiftHeldModels(int position, int delta, @Nonnull Set<AbstractModel> visited) {
+		super.shiftHeldModels(position, delta, visited);
+		shiftHeldModel(expression, position, delta, visited);
+		shiftHeldModel(block, position, delta, visited);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -2,6 +2,7 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import software.coley.sourcesolver.SolverMetrics;
 import software.coley.sourcesolver.model.AbstractExpressionModel;
 import software.coley.sourcesolver.model.AnnotationArgumentModel;
 import software.coley.sourcesolver.model.AnnotationExpressionModel;
@@ -45,7 +46,6 @@
 import software.coley.sourcesolver.resolve.entry.MultiClassEntry;
 import software.coley.sourcesolver.resolve.entry.NullEntry;
 import software.coley.sourcesolver.resolve.entry.PrimitiveEntry;
-import software.coley.sourcesolver.resolve.entry.StaticFilteredClassEntry;
 import software.coley.sourcesolver.resolve.result.ArrayResolution;
 import software.coley.sourcesolver.resolve.result.ClassResolution;
 import software.coley.sourcesolver.resolve.result.DescribableResolution;
@@ -54,7 +54,6 @@
 import software.coley.sourcesolver.resolve.result.MultiClassResolution;
 import software.coley.sourcesolver.resolve.result.MultiMemberResolution;
 import software.coley.sourcesolver.resolve.result.NullResolution;
-import software.coley.sourcesolver.resolve.result.PackageResolution;
 import software.coley.sourcesolver.resolve.result.Resolution;
 import software.coley.sourcesolver.resolve.result.Resolutions;
 import software.coley.sourcesolver.resolve.result.ThrowingResolution;
@@ -62,12 +61,14 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import static software.coley.sourcesolver.resolve.entry.PrimitiveEntry.*;
@@ -76,15 +77,25 @@
 
 /**
  * Base resolver implementation.
+ * <p/>
+ * Resolutions are cached by the resolver rather than by the models, so the same unit can be resolved by multiple
+ * resolvers <i>(such as ones backed by different pools)</i>, including from multiple threads at once.
  *
  * @author Matt Coley
  */
 public class BasicResolver implements Resolver {
-	private final Map<String, ClassEntry> importedTypes;
+	private static final ThreadLocal<int[]> METERED_RESOLVE_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+	private final List<Map<String, ClassEntry>> importedTypes;
+	private final Map<String, ClassEntry> packageTypes;
 	private final CompilationUnitModel unit;
+	private final ResolverFactory factory;
 	private final EntryPool pool;
+	private final SolverMetrics metrics;
 	private final ClassEntry jlObjectEntry, jlClassEntry;
-	private Map<ClassModel, ClassEntry> externallyResolvedClassEntries;
+	private final ResolutionCache resolutions = new ResolutionCache();
+	private final ThreadLocal<BulkPass> bulkPass = new ThreadLocal<>();
+	private volatile Map<ClassModel, ClassEntry> externallyResolvedClassEntries;
+	private volatile Map<String, List<DeclaredClass>> declaredClasses;
 
 	/**
 	 * @param unit
@@ -93,13 +104,27 @@ public class BasicResolver implements Resolver {
 	 * 		Pool to access class metadata.
 	 */
 	public BasicResolver(@Nonnull CompilationUnitModel unit, @Nonnull EntryPool pool) {
+		this(unit, new ResolverFactory(pool));
+	}
+
+	/**
+	 * @param unit
+	 * 		Root element model to resolve contents of.
+	 * @param factory
+	 * 		Factory providing the pool to access class metadata, and the import tables shared with other resolvers.
+	 */
+	public BasicResolver(@Nonnull CompilationUnitModel unit, @Nonnull ResolverFactory factory) {
 		this.unit = unit;
-		this.pool = pool;
+		this.factory = factory;
+		this.metrics = factory.getMetrics();
+		this.pool = metrics.isEnabled() ? new MeteredEntryPool(factory.getPool(), metrics) : factory.getPool();
 
 		jlObjectEntry = Objects.requireNonNull(pool.getClass("java/lang/Object"), "EntryPool does not contain 'java/lang/Object'");
 		jlClassEntry = Objects.requireNonNull(pool.getClass("java/lang/Class"), "EntryPool does not contain 'java/lang/Class'");
 
-		importedTypes = Collections.unmodifiableMap(populateImports());
+		// The package name is taken directly from the model, since the resolver cannot resolve anything until built.
+		packageTypes = factory.getPackageTable(getInternalPackageName(unit.getPackage()));
+		importedTypes = Collections.unmodifiableList(populateImports());
 	}
 
 	/**
@@ -119,35 +144,53 @@ protected CompilationUnitModel getUnit() {
 	}
 
 	/**
-	 * @return Map of internal names to class entries for all imported <i>(implicit and explicit)</i> classes in the compilation unit.
+	 * Only the table of explicit single-type imports is specific to the compilation unit.
+	 * The others are shared with other resolvers created by the same {@link ResolverFactory}.
+	 *
+	 * @return Tables of simple names <i>(see {@link ResolverFactory#getPackageTable(String)})</i> to class entries
+	 * for all imported <i>(implicit and explicit)</i> classes in the compilation unit. Earlier tables shadow later ones.
+	 * In order, the tables are of the explicit single-type imports, the classes in the same package,
+	 * the wildcard imports, and then {@code java.lang}.
 	 */
 	@Nonnull
-	protected Map<String, ClassEntry> populateImports() {
-		Map<String, ClassEntry> map = new TreeMap<>();
-		if (unit.getPackage().resolve(this) instanceof PackageResolution resolvedPackage) {
-			pool.getClassesInPackage(resolvedPackage.getPackageName())
-					.forEach(entry -> map.put(entry.getName(), entry));
-		}
+	protected List<Map<String, ClassEntry>> populateImports() {
+		Map<String, ClassEntry> explicitImports = new HashMap<>();
+		List<Map<String, ClassEntry>> wildcardImports = new ArrayList<>();
 		for (ImportModel imp : unit.getImports()) {
-			Resolution resolution = imp.resolve(this);
-			if (resolution instanceof ClassResolution resolvedImport) {
+			if (imp.isStatic())
+				continue;
+			String name = imp.getName();
+			if (name.endsWith(".*")) {
+				String packageName = name.substring(0, name.lastIndexOf(".*")).replace('.', '/');
+				wildcardImports.add(factory.getPackageTable(packageName));
+			} else if (imp.resolve(this) instanceof ClassResolution resolvedImport) {
 				ClassEntry entry = resolvedImport.getClassEntry();
-				map.put(entry.getName(), entry);
-			} else if (resolution instanceof MultiClassResolution resolvedImport) {
-				resolvedImport.getClassEntries()
-						.forEach(entry -> map.put(entry.getName(), entry));
+				explicitImports.putIfAbsent(ResolverFactory.getSimpleName(entry), entry);
 			}
 		}
-		for (ClassEntry entry : pool.getClassesInPackage("java/lang"))
-			map.put(entry.getName(), entry);
-		return map;
+
+		List<Map<String, ClassEntry>> tables = new ArrayList<>(wildcardImports.size() + 3);
+		if (!explicitImports.isEmpty())
+			tables.add(explicitImports);
+		tables.add(packageTypes);
+		tables.addAll(wildcardImports);
+		tables.add(factory.getImplicitImportTable());
+		return tables;
 	}
 
 	@Nonnull
 	@Override
 	public Resolution resolveAt(int position, @Nullable Model target) {
-		if (target != null)
-			return resolve(target);
+		if (target != null) {
+			Resolution resolution = resolutions.get(target);
+			if (resolution == null) {
+				metrics.recordCacheMiss();
+				resolution = resolutions.put(target, metrics.isEnabled() ? resolveMetered(target) : resolve(target));
+			} else {
+				metrics.recordCacheHit();
+			}
+			return resolution;
+		}
 
 		// Find the deepest model at position.
 		Model model = unit;
@@ -162,12 +205,84 @@ public Resolution resolveAt(int position, @Nullable Model target) {
 		return model.resolve(this);
 	}
 
+	/**
+	 * Resolves the contents of the given model in a single walk. State which is shared by the models nested in
+	 * a scope is carried through the walk rather than being recomputed for each model:
+	 * <ul>
+	 *     <li>Class models are resolved as the walk enters them, before any of their contents, so member lookups
+	 *     within them find the enclosing class entry cached.</li>
+	 *     <li>The variables declared in each scope are collected once, and shared by every name resolved within
+	 *     that scope.</li>
+	 *     <li>Receivers of member selections are cached as they are resolved, so they are resolved once regardless
+	 *     of how many selections and invocations depend on them.</li>
+	 * </ul>
+	 * Results are the same as resolving each model individually with {@link #resolveAt(int, Model)}.
+	 */
 	@Override
-	public void setDeclaredClass(@Nonnull ClassModel declaredClassModel,
-	                             @Nullable ClassEntry declaredClassEntry) {
-		if (externallyResolvedClassEntries == null)
-			externallyResolvedClassEntries = new IdentityHashMap<>();
-		externallyResolvedClassEntries.put(declaredClassModel, declaredClassEntry);
+	public void resolveAll(@Nonnull Model root, @Nonnull BiConsumer<Model, Resolution> consumer) {
+		// Passes can be nested if the consumer resolves another model, so we restore the outer one when done.
+		BulkPass outerPass = bulkPass.get();
+		bulkPass.set(new BulkPass());
+		try {
+			Set<Model> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+			root.visit(model -> {
+				if (!visited.add(model))
+					return false;
+				if (model instanceof NamedModel
+						|| model instanceof MethodInvocationExpressionModel
+						|| model instanceof MemberSelectExpressionModel)
+					consumer.accept(model, model.resolve(this));
+				return true;
+			});
+		} finally {
+			if (outerPass == null)
+				bulkPass.remove();
+			else
+				bulkPass.set(outerPass);
+		}
+	}
+
+	@Override
+	public synchronized void setDeclaredClass(@Nonnull ClassModel declaredClassModel,
+	                                          @Nullable ClassEntry declaredClassEntry) {
+		// Copied on write so that concurrent lookups never observe the map while it is being modified.
+		Map<ClassModel, ClassEntry> entries = externallyResolvedClassEntries == null ?
+				new IdentityHashMap<>() : new IdentityHashMap<>(externallyResolvedClassEntries);
+		entries.put(declaredClassModel, declaredClassEntry);
+		externallyResolvedClassEntries = entries;
+
+		// Everything in the unit is resolved relative to its declared classes, so any prior results may be affected.
+		invalidateAll();
+	}
+
+	@Override
+	public void invalidate(@Nonnull Model model) {
+		resolutions.invalidate(model);
+	}
+
+	@Override
+	public void invalidateAll() {
+		resolutions.invalidateAll();
+		declaredClasses = null;
+	}
+
+	@Nonnull
+	private Resolution resolveMetered(@Nonnull Model target) {
+		// Track how deep we are in nested resolutions so that only the outermost is reported as a phase.
+		int[] depth = METERED_RESOLVE_DEPTH.get();
+		long start = System.nanoTime();
+		Resolution resolution;
+		depth[0]++;
+		try {
+			resolution = resolve(target);
+		} finally {
+			depth[0]--;
+		}
+		long elapsed = System.nanoTime() - start;
+		metrics.recordResolution(resolution, elapsed);
+		if (depth[0] == 0)
+			metrics.recordPhase(SolverMetrics.Phase.RESOLVE, elapsed);
+		return resolution;
 	}
 
 	@Nonnull
@@ -311,7 +426,7 @@ else if (named == methodReference.getQualifier()) {
 			// Outer method variables will also be in-scope.
 			MethodModel outerMethod = containingMethod.getParentOfType(MethodModel.class);
 			while (outerMethod != null) {
-				Optional<VariableModel> outerScopedVariable = outerMethod.getRecursiveChildrenOfType(VariableModel.class).stream()
+				Optional<VariableModel> outerScopedVariable = getVariablesInScope(outerMethod).stream()
 						.filter(v -> v.getRange().end() <= named.getRange().begin() && v.getName().equals(name))
 						.findFirst();
 				if (outerScopedVariable.isPresent()) {
@@ -325,7 +440,7 @@ else if (named == methodReference.getQualifier()) {
 			// Start from innermost scope and walk out until we go beyond the current method.
 			Model scope = named;
 			while (scope != null && scope != containingMethod.getParent()) {
-				List<VariableModel> scopedVariables = scope.getRecursiveChildrenOfType(VariableModel.class);
+				List<VariableModel> scopedVariables = getVariablesInScope(scope);
 				for (VariableModel variable : scopedVariables) {
 					// Check for matching name, and if it is within scope (basic usage after definition check)
 					if (variable.getName().equals(name) && variable.getRange().end() <= named.getRange().begin()) {
@@ -352,6 +467,15 @@ else if (named == methodReference.getQualifier()) {
 		return unknown();
 	}
 
+	@Nonnull
+	private List<VariableModel> getVariablesInScope(@Nonnull Model scope) {
+		// Within a bulk pass, every name in a scope looks up the same variables, so we only collect them once.
+		BulkPass pass = bulkPass.get();
+		if (pass == null)
+			return scope.getRecursiveChildrenOfType(VariableModel.class);
+		return pass.scopeVariables().computeIfAbsent(scope, s -> s.getRecursiveChildrenOfType(VariableModel.class));
+	}
+
 	@Nonnull
 	private Resolution resolveDotName(@Nonnull String name) {
 		name = name.replace('.', '/');
@@ -397,40 +521,55 @@ && resolveClassModel(declaringClass) instanceof ClassResolution declaringClassRe
 
 	@Nonnull
 	private Resolution resolveAsInnerClass(@Nonnull String name) {
-		String packageName = unit.getPackage().getName();
-
-		for (ClassModel cls : unit.getRecursiveChildrenOfType(ClassModel.class)) {
-			// Only visit classes with the same inner-most name.
-			String localClassName = cls.getName();
-			if (!localClassName.equals(name))
-				continue;
-
-			// Build name with outer classes and package.
-			StringBuilder nameBuilder = new StringBuilder(localClassName);
-			ClassModel outerCls = cls.getParentOfType(ClassModel.class);
-			while (outerCls != null) {
-				nameBuilder.insert(0, outerCls.getName() + '$');
-				outerCls = outerCls.getParentOfType(ClassModel.class);
-			}
-			if (!packageName.isEmpty())
-				nameBuilder.insert(0, packageName.replace('.', '/') + '/');
-
-			// If it's in the pool, that should be our inner class.
-			ClassEntry entry = pool.getClass(nameBuilder.toString());
+		for (DeclaredClass declared : getDeclaredClasses(name)) {
+			// If it's in the package, that should be our inner class.
+			ClassEntry entry = packageTypes.get(declared.localName());
 			if (entry != null)
 				return ofClass(entry);
 
-			// If we haven't passed a basic name check via the builder we'll try resolving the class
+			// If we haven't passed a basic name check via the package we'll try resolving the class
 			// instead. This is mainly viable when the provided code is a decompilation of an inner class
 			// that is being informed via 'Resolver#setDeclaredClass'.
-			if (resolve(cls) instanceof ClassResolution resolvedClass &&
-					resolvedClass.getClassEntry().getName().endsWith("$" + localClassName))
+			if (resolve(declared.model()) instanceof ClassResolution resolvedClass &&
+					resolvedClass.getClassEntry().getName().endsWith("$" + name))
 				return resolvedClass;
 		}
 
 		return unknown();
 	}
 
+	/**
+	 * @param name
+	 * 		Simple name of a class, as written in the source.
+	 *
+	 * @return All classes declared in the compilation unit with the given name.
+	 */
+	@Nonnull
+	private List<DeclaredClass> getDeclaredClasses(@Nonnull String name) {
+		Map<String, List<DeclaredClass>> classes = declaredClasses;
+		if (classes == null) {
+			// Outer classes are always visited before their inner classes, so their names will already be known.
+			classes = new HashMap<>();
+			Map<ClassModel, String> localNames = new IdentityHashMap<>();
+			Map<ClassModel, ClassEntry> externalEntries = externallyResolvedClassEntries;
+			for (ClassModel cls : unit.getRecursiveChildrenOfType(ClassModel.class)) {
+				String localName;
+				ClassEntry externalEntry = externalEntries == null ? null : externalEntries.get(cls);
+				if (externalEntry != null) {
+					localName = ResolverFactory.getSimpleName(externalEntry);
+				} else {
+					ClassModel outerCls = cls.getParentOfType(ClassModel.class);
+					String outerName = outerCls == null ? null : localNames.get(outerCls);
+					localName = outerName == null ? cls.getName() : outerName + '$' + cls.getName();
+				}
+				localNames.put(cls, localName);
+				classes.computeIfAbsent(cls.getName(), n -> new ArrayList<>(1)).add(new DeclaredClass(cls, localName));
+			}
+			declaredClasses = classes;
+		}
+		return classes.getOrDefault(name, Collections.emptyList());
+	}
+
 	@Nonnull
 	private Resolution resolveNameAsQualifiedOrImported(@Nonnull String name) {
 		// If it is a qualified name, just do a dot-name lookup.
@@ -438,9 +577,11 @@ private Resolution resolveNameAsQualifiedOrImported(@Nonnull String name) {
 			return resolveDotName(name);
 
 		// Otherwise look for a name in the imports that match.
-		for (Map.Entry<String, ClassEntry> importEntry : importedTypes.entrySet())
-			if (importEntry.getKey().endsWith('/' + name))
-				return ofClass(importEntry.getValue());
+		for (Map<String, ClassEntry> importTable : importedTypes) {
+			ClassEntry entry = importTable.get(name);
+			if (entry != null)
+				return ofClass(entry);
+		}
 
 		// If we're in the default package look for exact name matches since there is no package prefix.
 		if (unit.getPackage().isDefaultPackage()) {
@@ -524,8 +665,12 @@ else if (identifier instanceof NamedModel named)
 
 	@Nonnull
 	private Resolution resolvePackageModel(@Nonnull PackageModel pkg) {
-		String packageName = pkg.isDefaultPackage() ? null : pkg.getName().replace('.', '/');
-		return ofPackage(packageName);
+		return ofPackage(getInternalPackageName(pkg));
+	}
+
+	@Nullable
+	private static String getInternalPackageName(@Nonnull PackageModel pkg) {
+		return pkg.isDefaultPackage() ? null : pkg.getName().replace('.', '/');
 	}
 
 	@Nonnull
@@ -550,10 +695,13 @@ private Resolution resolveImportModel(@Nonnull ImportModel imp) {
 
 				} else {
 					// Specific name import, so only members with the same name should be returned.
-					declaringClassResolution.getClassEntry().visitHierarchy(owner -> memberEntries.addAll(owner.declaredMemberStream()
-							.filter(e -> !e.isPrivate() && e.isStatic() && e.getName().equals(memberName))
-							.map(e -> new ClassMemberPair(owner, e))
-							.toList()));
+					ClassEntry declaringClassEntry = declaringClassResolution.getClassEntry();
+					for (ClassMemberPair pair : declaringClassEntry.getVisibleFieldsByName(memberName))
+						if (!pair.memberEntry().isPrivate() && pair.memberEntry().isStatic())
+							memberEntries.add(pair);
+					for (ClassMemberPair pair : declaringClassEntry.getVisibleMethodsByName(memberName))
+						if (!pair.memberEntry().isPrivate() && pair.memberEntry().isStatic())
+							memberEntries.add(pair);
 				}
 				return ofMembers(memberEntries);
 			}
@@ -574,10 +722,20 @@ private Resolution resolveImportModel(@Nonnull ImportModel imp) {
 
 	@Nonnull
 	private Resolution resolveClassModel(@Nonnull ClassModel clazz) {
+		// Class models are looked up repeatedly as the context of member lookups, so we keep track of prior results.
+		Resolution resolution = resolutions.get(clazz);
+		if (resolution == null)
+			resolution = resolutions.put(clazz, resolveClassModelUncached(clazz));
+		return resolution;
+	}
+
+	@Nonnull
+	private Resolution resolveClassModelUncached(@Nonnull ClassModel clazz) {
 		// First check if there are any externally provided class entries for this class model.
-		if (externallyResolvedClassEntries != null) {
+		Map<ClassModel, ClassEntry> externalEntries = externallyResolvedClassEntries;
+		if (externalEntries != null) {
 			// If there is, we will trust the externally provided resolution.
-			ClassEntry declaredClassEntry = externallyResolvedClassEntries.get(clazz);
+			ClassEntry declaredClassEntry = externalEntries.get(clazz);
 			if (declaredClassEntry != null)
 				return ofClass(declaredClassEntry);
 		}
@@ -743,6 +901,8 @@ private Resolution resolveMethodByNameInClass(@Nonnull ClassEntry classEntry, @N
 			return ofMethod(classEntry, methodsByName.getFirst());
 		if (methodsByName.size() > 1 && (returnTypeEntry != null || argumentTypeEntries != null)) {
 			// Try and prune candidates by filtering against presumed return/argument types.
+			// The entry's list may be shared, so we prune a copy of it.
+			methodsByName = new ArrayList<>(methodsByName);
 			for (int i = methodsByName.size() - 1; i >= 0; i--) {
 				MethodEntry methodEntry = methodsByName.get(i);
 
@@ -882,7 +1042,7 @@ private Resolution resolveMemberByNameInModel(@Nonnull Model origin, @Nonnull St
 				// the context of a static inner class. If it is a non-static class or a top-level class
 				// then no filtering is needed.
 				ClassEntry classEntry = wasLastClassContextStatic ?
-						new StaticFilteredClassEntry(classResolution.getClassEntry()) : classResolution.getClassEntry();
+						classResolution.getClassEntry().getStaticView() : classResolution.getClassEntry();
 				Resolution resolution = isFieldsTarget ?
 						resolveFieldByNameInClass(classEntry, name, null) :
 						resolveMethodByNameInClass(classEntry, name, null,
@@ -973,7 +1133,8 @@ private Resolution resolveMember(@Nonnull MethodInvocationExpressionModel method
 		AbstractExpressionModel select = methodInvocation.getMethodSelect();
 		if (select instanceof MemberSelectExpressionModel memberSelect)
 			// Selection is in the pattern of 'context.methodName' so solve with the context in mind.
-			return resolveMemberSelection(memberSelect);
+			// The selection is resolved through the cache so that the invocation and selection share the lookup.
+			return memberSelect.resolve(this);
 		else if (select instanceof NameExpressionModel named)
 			// Selection is in the pattern of 'methodName' so solve with the containing class as context.
 			return resolveMemberByNameInModel(methodInvocation, named.getName(), MemberTarget.METHODS);
@@ -1155,7 +1316,8 @@ private DescribableEntry inferExpectedTypeForArgument(@Nonnull DescribableEntry
 
 		// Collect all methods with the same name in the receiver type's hierarchy.
 		List<MethodEntry> candidates = new ArrayList<>();
-		receiverClass.visitHierarchy(owner -> candidates.addAll(owner.getDeclaredMethodsByName(methodName)));
+		for (ClassMemberPair pair : receiverClass.getVisibleMethodsByName(methodName))
+			candidates.add((MethodEntry) pair.memberEntry());
 		if (candidates.isEmpty())
 			return null;
 
@@ -1439,4 +1601,25 @@ private List<DescribableEntry> collectMethodArgumentsInParentContext(@Nonnull Mo
 	private enum MemberTarget {
 		FIELDS, METHODS
 	}
+
+	/**
+	 * @param model
+	 * 		Declared class model.
+	 * @param localName
+	 * 		Name of the class without its package, including any outer classes. For instance {@code "Outer$Inner"}.
+	 */
+	private record DeclaredClass(@Nonnull ClassModel model, @Nonnull String localName) {}
+
+	/**
+	 * State shared between the models resolved in a single {@link #resolveAll(Model, BiConsumer)} pass.
+	 * Only used by the thread running the pass.
+	 *
+	 * @param scopeVariables
+	 * 		Map of scope models to the variables declared within them.
+	 */
+	private record BulkPass(@Nonnull Map<Model, List<VariableModel>> scopeVariables) {
+		private BulkPass() {
+			this(new IdentityHashMap<>());
+		}
+	}
 }
@@ -0,0 +1,62 @@
+package software.coley.sourcesolver.resolve;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.sourcesolver.SolverMetrics;
+import software.coley.sourcesolver.resolve.entry.ClassEntry;
+import software.coley.sourcesolver.resolve.entry.EntryPool;
+import software.coley.sourcesolver.resolve.entry.SymbolTable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entry pool wrapper which reports class lookups to a metrics listener.
+ *
+ * @author Matt Coley
+ */
+class MeteredEntryPool implements EntryPool {
+	private final EntryPool delegate;
+	private final SolverMetrics metrics;
+
+	/**
+	 * @param delegate
+	 * 		Pool to wrap.
+	 * @param metrics
+	 * 		Metrics listener to report lookups to.
+	 */
+	MeteredEntryPool(@Nonnull EntryPool delegate, @Nonnull SolverMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void register(@Nonnull ClassEntry entry) {
+		delegate.register(entry);
+	}
+
+	@Override
+	public void registerAll(@Nonnull Collection<? extends ClassEntry> entries) {
+		delegate.registerAll(entries);
+	}
+
+	@Nonnull
+	@Override
+	public SymbolTable getSymbolTable() {
+		return delegate.getSymbolTable();
+	}
+
+	@Nullable
+	@Override
+	public ClassEntry getClass(@Nonnull String name) {
+		ClassEntry entry = delegate.getClass(name);
+		metrics.recordPoolLookup(entry != null);
+		return entry;
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getClassesInPackage(@Nullable String packageName) {
+		return delegate.getClassesInPackage(packageName);
+	}
+}
@@ -0,0 +1,96 @@
+package software.coley.sourcesolver.resolve;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.sourcesolver.model.Model;
+import software.coley.sourcesolver.resolve.result.Resolution;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of model resolutions, for use by a single {@link Resolver}.
+ * <p/>
+ * Models are keyed by identity rather than equality, since separate models in a tree can be equal
+ * to one another while resolving to different things. The cache can be safely read from and written to
+ * by multiple threads at once.
+ *
+ * @author Matt Coley
+ */
+public class ResolutionCache {
+	private final Map<Key, Resolution> resolutions = new ConcurrentHashMap<>();
+
+	/**
+	 * @param model
+	 * 		Model to get the resolution of.
+	 *
+	 * @return Cached resolution of the model, or {@code null} if it has not been resolved yet.
+	 */
+	@Nullable
+	public Resolution get(@Nonnull Model model) {
+		return resolutions.get(new Key(model));
+	}
+
+	/**
+	 * When multiple threads race to resolve the same model, only the first result is kept.
+	 * Callers should use the returned resolution so that all threads agree on the result.
+	 *
+	 * @param model
+	 * 		Model that was resolved.
+	 * @param resolution
+	 * 		Resolution of the model.
+	 *
+	 * @return The resolution now cached for the model.
+	 */
+	@Nonnull
+	public Resolution put(@Nonnull Model model, @Nonnull Resolution resolution) {
+		Resolution existing = resolutions.putIfAbsent(new Key(model), resolution);
+		return existing == null ? resolution : existing;
+	}
+
+	/**
+	 * Discards the cached resolutions of the given model and all of its children.
+	 * Resolutions of other models which were computed from them are not discarded.
+	 *
+	 * @param model
+	 * 		Model to discard the resolution of.
+	 */
+	public void invalidate(@Nonnull Model model) {
+		model.visit(child -> {
+			resolutions.remove(new Key(child));
+			return true;
+		});
+	}
+
+	/**
+	 * Discards all cached resolutions.
+	 */
+	public void invalidateAll() {
+		resolutions.clear();
+	}
+
+	/**
+	 * @return Number of cached resolutions.
+	 */
+	public int size() {
+		return resolutions.size();
+	}
+
+	/**
+	 * Identity based key wrapper for models.
+	 *
+	 * @param model
+	 * 		Wrapped model.
+	 */
+	private record Key(@Nonnull Model model) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key other && model == other.model;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(model);
+		}
+	}
+}
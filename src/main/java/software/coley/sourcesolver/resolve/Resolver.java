@@ -4,10 +4,19 @@
 import jakarta.annotation.Nullable;
 import software.coley.sourcesolver.model.ClassModel;
 import software.coley.sourcesolver.model.CompilationUnitModel;
+import software.coley.sourcesolver.model.MemberSelectExpressionModel;
+import software.coley.sourcesolver.model.MethodInvocationExpressionModel;
 import software.coley.sourcesolver.model.Model;
+import software.coley.sourcesolver.model.ModelVisitor;
+import software.coley.sourcesolver.model.NamedModel;
 import software.coley.sourcesolver.resolve.entry.ClassEntry;
 import software.coley.sourcesolver.resolve.result.Resolution;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
 /**
  * Outlines resolving capabilities.
  *
@@ -36,6 +45,32 @@ default Resolution resolveAt(int position) {
 	@Nonnull
 	Resolution resolveAt(int position, @Nullable Model target);
 
+	/**
+	 * Resolves every {@link NamedModel}, {@link MethodInvocationExpressionModel} and {@link MemberSelectExpressionModel}
+	 * in the given model in a single pass. Implementations should share work between the visited models where they can,
+	 * such as the resolutions of enclosing classes and of receivers of member selections, so that this is cheaper than
+	 * resolving each model individually. The default implementation only walks the tree and calls
+	 * {@link Model#resolve(Resolver)} on each model.
+	 *
+	 * @param root
+	 * 		Root model to resolve the contents of, typically the {@link CompilationUnitModel}.
+	 * @param consumer
+	 * 		Consumer to be fed each visited model and its resolution, including {@link Resolution#isUnknown() unknown}
+	 * 		resolutions. Models are fed once each, in the order of {@link Model#visit(ModelVisitor)}.
+	 */
+	default void resolveAll(@Nonnull Model root, @Nonnull BiConsumer<Model, Resolution> consumer) {
+		Set<Model> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		root.visit(model -> {
+			if (!visited.add(model))
+				return false;
+			if (model instanceof NamedModel
+					|| model instanceof MethodInvocationExpressionModel
+					|| model instanceof MemberSelectExpressionModel)
+				consumer.accept(model, model.resolve(this));
+			return true;
+		});
+	}
+
 	/**
 	 * Tell the resolver to trust that a given class model in the {@link CompilationUnitModel} should be resolved
 	 * to the given class entry. This can be used in situations where the name of the {@link ClassModel} does not
@@ -49,4 +84,19 @@ default Resolution resolveAt(int position) {
 	 * 		Resolution target to associate with the model.
 	 */
 	void setDeclaredClass(@Nonnull ClassModel declaredClassModel, @Nullable ClassEntry declaredClassEntry);
+
+	/**
+	 * Tell the resolver to discard any results it has cached for the given model and its children.
+	 * Resolvers which do not cache results do not need to implement this.
+	 *
+	 * @param model
+	 * 		Model to discard cached results of.
+	 */
+	default void invalidate(@Nonnull Model model) {}
+
+	/**
+	 * Tell the resolver to discard all results it has cached.
+	 * Resolvers which do not cache results do not need to implement this.
+	 */
+	default void invalidateAll() {}
 }
@@ -0,0 +1,135 @@
+package software.coley.sourcesolver.resolve;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.sourcesolver.SolverMetrics;
+import software.coley.sourcesolver.model.CompilationUnitModel;
+import software.coley.sourcesolver.resolve.entry.ClassEntry;
+import software.coley.sourcesolver.resolve.entry.EntryPool;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates resolvers for the compilation units of a workspace which all share a common {@link EntryPool}.
+ * <p/>
+ * Resolvers created by the same factory share the tables of classes in each package, which are used to populate
+ * the implicit <i>({@code java.lang} and same-package)</i> and wildcard imports of a compilation unit. Each
+ * resolver then only has to build the table of its unit's explicit single-type imports.
+ * <p/>
+ * Package tables are built the first time they are requested, and are not updated if classes are later registered
+ * to the pool. Use {@link #invalidatePackage(String)} or {@link #invalidateAll()} when the pool changes.
+ * Resolvers which were created before the invalidation are not affected.
+ *
+ * @author Matt Coley
+ */
+public class ResolverFactory {
+	private static final String DEFAULT_PACKAGE = "";
+	private final Map<String, Map<String, ClassEntry>> packageTables = new ConcurrentHashMap<>();
+	private final EntryPool pool;
+	private SolverMetrics metrics = SolverMetrics.NONE;
+
+	/**
+	 * @param pool
+	 * 		Pool to access class metadata.
+	 */
+	public ResolverFactory(@Nonnull EntryPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * @param unit
+	 * 		Root element model to resolve contents of.
+	 *
+	 * @return New resolver for the given unit.
+	 */
+	@Nonnull
+	public Resolver newResolver(@Nonnull CompilationUnitModel unit) {
+		return new BasicResolver(unit, this);
+	}
+
+	/**
+	 * @return Backing entry pool containing definitions of classes to resolve to.
+	 */
+	@Nonnull
+	public EntryPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * @return Metrics listener for resolvers created by this factory to report to.
+	 */
+	@Nonnull
+	public SolverMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Resolvers which were created before the metrics listener was set are not affected.
+	 *
+	 * @param metrics
+	 * 		Metrics listener for resolvers created by this factory to report to.
+	 */
+	public void setMetrics(@Nonnull SolverMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @param packageName
+	 * 		Internal package name. For instance {@code "java/util"}. Can be {@code null} for the default package.
+	 *
+	 * @return Unmodifiable map of simple names to class entries for all classes in the package.
+	 * Inner classes are keyed by their name without the package, such as {@code "Map$Entry"}.
+	 */
+	@Nonnull
+	public Map<String, ClassEntry> getPackageTable(@Nullable String packageName) {
+		String packageKey = packageName == null ? DEFAULT_PACKAGE : packageName;
+		return packageTables.computeIfAbsent(packageKey, key -> {
+			List<ClassEntry> entries = pool.getClassesInPackage(packageName);
+			Map<String, ClassEntry> map = HashMap.newHashMap(entries.size());
+			for (ClassEntry entry : entries)
+				map.put(getSimpleName(entry), entry);
+			return Collections.unmodifiableMap(map);
+		});
+	}
+
+	/**
+	 * @return Unmodifiable map of simple names to class entries for all implicitly imported classes.
+	 */
+	@Nonnull
+	public Map<String, ClassEntry> getImplicitImportTable() {
+		return getPackageTable("java/lang");
+	}
+
+	/**
+	 * Drops the table of classes in the given package, so that it will be rebuilt from the pool on next use.
+	 *
+	 * @param packageName
+	 * 		Internal package name. Can be {@code null} for the default package.
+	 */
+	public void invalidatePackage(@Nullable String packageName) {
+		packageTables.remove(packageName == null ? DEFAULT_PACKAGE : packageName);
+	}
+
+	/**
+	 * Drops all package tables, so that they will be rebuilt from the pool on next use.
+	 */
+	public void invalidateAll() {
+		packageTables.clear();
+	}
+
+	/**
+	 * @param entry
+	 * 		Some class entry.
+	 *
+	 * @return Name of the class without its package. For instance {@code "Map$Entry"} for {@code "java/util/Map$Entry"}.
+	 */
+	@Nonnull
+	static String getSimpleName(@Nonnull ClassEntry entry) {
+		String name = entry.getName();
+		return name.substring(name.lastIndexOf('/') + 1);
+	}
+}
@@ -2,9 +2,25 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 
+/**
+ * Basic class entry implementation.
+ * <p/>
+ * Lookups of declared members by name, or by name and descriptor, are backed by hash tables built on first use.
+ * Likewise, the linearized hierarchy and the members visible through it, the names of all classes in the hierarchy,
+ * and common parents with other classes, are computed once and then cached.
+ * The declared field and method lists must not be modified after construction.
+ */
 public class BasicClassEntry implements ClassEntry {
 	private final String className;
 	private final int access;
@@ -14,6 +30,12 @@ public class BasicClassEntry implements ClassEntry {
 	private final ClassEntry outerClass;
 	private final List<FieldEntry> fields;
 	private final List<MethodEntry> methods;
+	private String descriptor;
+	private volatile Set<String> hierarchyNames;
+	private volatile HierarchyIndex hierarchyIndex;
+	private volatile StaticFilteredClassEntry staticView;
+	private volatile MemberIndex<FieldEntry> fieldIndex;
+	private volatile MemberIndex<MethodEntry> methodIndex;
 
 	public BasicClassEntry(@Nonnull String className, int access,
 	                       @Nullable ClassEntry superEntry,
@@ -38,6 +60,15 @@ public String getName() {
 		return className;
 	}
 
+	@Nonnull
+	@Override
+	public String getDescriptor() {
+		String desc = descriptor;
+		if (desc == null)
+			descriptor = desc = ClassEntry.super.getDescriptor();
+		return desc;
+	}
+
 	@Override
 	public int getAccess() {
 		return access;
@@ -79,6 +110,117 @@ public List<MethodEntry> getDeclaredMethods() {
 		return methods;
 	}
 
+	@Nonnull
+	@Override
+	public Set<String> getHierarchyNames() {
+		// The hierarchy of an entry does not change, so we only need to compute it once.
+		Set<String> names = hierarchyNames;
+		if (names == null) {
+			Set<String> computed = new HashSet<>();
+			computed.add(className);
+			if (superEntry != null)
+				computed.addAll(superEntry.getHierarchyNames());
+			for (ClassEntry interfaceEntry : interfaceEntries)
+				computed.addAll(interfaceEntry.getHierarchyNames());
+			hierarchyNames = names = Collections.unmodifiableSet(computed);
+		}
+		return names;
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getLinearizedHierarchy() {
+		return hierarchyIndex().getHierarchy();
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassMemberPair> getVisibleMethodsByName(@Nonnull String name) {
+		return hierarchyIndex().getVisibleMethods(name);
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassMemberPair> getVisibleFieldsByName(@Nonnull String name) {
+		return hierarchyIndex().getVisibleFields(name);
+	}
+
+	@Nullable
+	@Override
+	public MethodEntry getMethod(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<MethodEntry> filter) {
+		MethodEntry method = getDeclaredMethod(name, desc, filter);
+		if (method != null)
+			return method;
+		return hierarchyIndex().getInheritedMethod(name, desc);
+	}
+
+	@Nullable
+	@Override
+	public FieldEntry getField(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<FieldEntry> filter) {
+		FieldEntry field = getDeclaredField(name, desc, filter);
+		if (field != null)
+			return field;
+		return hierarchyIndex().getInheritedField(name, desc);
+	}
+
+	@Nullable
+	@Override
+	public FieldEntry getDeclaredField(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<FieldEntry> filter) {
+		return fieldIndex().get(name, desc, filter);
+	}
+
+	@Nonnull
+	@Override
+	public List<FieldEntry> getDeclaredFieldsByName(@Nonnull String name) {
+		return fieldIndex().getByName(name);
+	}
+
+	@Nullable
+	@Override
+	public MethodEntry getDeclaredMethod(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<MethodEntry> filter) {
+		return methodIndex().get(name, desc, filter);
+	}
+
+	@Nonnull
+	@Override
+	public List<MethodEntry> getDeclaredMethodsByName(@Nonnull String name) {
+		return methodIndex().getByName(name);
+	}
+
+	@Nonnull
+	@Override
+	public ClassEntry getStaticView() {
+		StaticFilteredClassEntry view = staticView;
+		if (view == null)
+			staticView = view = new StaticFilteredClassEntry(this);
+		return view;
+	}
+
+	@Nonnull
+	private HierarchyIndex hierarchyIndex() {
+		HierarchyIndex index = hierarchyIndex;
+		if (index == null)
+			hierarchyIndex = index = new HierarchyIndex(this);
+		return index;
+	}
+
+	@Nonnull
+	private MemberIndex<FieldEntry> fieldIndex() {
+		// Racing threads may each build an index, but they will be equivalent so it does not matter which one is kept.
+		MemberIndex<FieldEntry> index = fieldIndex;
+		if (index == null)
+			fieldIndex = index = new MemberIndex<>(fields);
+		return index;
+	}
+
+	@Nonnull
+	private MemberIndex<MethodEntry> methodIndex() {
+		MemberIndex<MethodEntry> index = methodIndex;
+		if (index == null)
+			methodIndex = index = new MemberIndex<>(methods);
+		return index;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -111,4 +253,56 @@ public int hashCode() {
 	public String toString() {
 		return getName();
 	}
+
+	/**
+	 * Lookup tables of members by their name, and by their name plus descriptor.
+	 *
+	 * @param byName
+	 * 		Map of member names to all members of that name.
+	 * @param byNameAndDesc
+	 * 		Map of member names and descriptors to the first member declared with them.
+	 * @param <M>
+	 * 		Member type.
+	 */
+	record MemberIndex<M extends MemberEntry>(@Nonnull Map<String, List<M>> byName,
+	                                          @Nonnull Map<MemberKey, M> byNameAndDesc) {
+		MemberIndex(@Nonnull List<M> members) {
+			this(new HashMap<>(), new HashMap<>());
+			Map<String, List<M>> lists = new HashMap<>();
+			for (M member : members) {
+				lists.computeIfAbsent(member.getName(), n -> new ArrayList<>(1)).add(member);
+				byNameAndDesc.putIfAbsent(new MemberKey(member.getName(), member.getDescriptor()), member);
+			}
+			lists.forEach((name, list) -> byName.put(name, Collections.unmodifiableList(list)));
+		}
+
+		@Nullable
+		M get(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<M> filter) {
+			M member = byNameAndDesc.get(new MemberKey(name, desc));
+			if (member != null && (filter == null || filter.test(member)))
+				return member;
+
+			// In the unusual case that multiple members share a name and descriptor the first one may be filtered out,
+			// so we will need to check the others as well.
+			if (member != null) {
+				for (M other : getByName(name))
+					if (other != member && other.getDescriptor().equals(desc) && filter.test(other))
+						return other;
+			}
+			return null;
+		}
+
+		@Nonnull
+		List<M> getByName(@Nonnull String name) {
+			return byName.getOrDefault(name, Collections.emptyList());
+		}
+	}
+
+	/**
+	 * @param name
+	 * 		Member name.
+	 * @param desc
+	 * 		Member descriptor.
+	 */
+	record MemberKey(@Nonnull String name, @Nonnull String desc) {}
 }
@@ -4,15 +4,28 @@
 import jakarta.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class BasicEntryPool implements EntryPool {
 	private final Map<String, ClassEntry> classEntries = new HashMap<>();
+	private final Map<String, Map<String, ClassEntry>> packageEntries = new HashMap<>();
+	private final SymbolTable symbols = new SymbolTable();
+
+	@Nonnull
+	@Override
+	public SymbolTable getSymbolTable() {
+		return symbols;
+	}
 
 	@Override
 	public void register(@Nonnull ClassEntry entry) {
-		classEntries.put(entry.getName(), entry);
+		String name = entry.getName();
+		classEntries.put(name, entry);
+
+		// Also track the entry by its package, with the default package being represented by the 'null' key.
+		packageEntries.computeIfAbsent(entry.getPackageName(), p -> new LinkedHashMap<>()).put(name, entry);
 	}
 
 	@Override
@@ -24,22 +37,9 @@ public ClassEntry getClass(@Nonnull String name) {
 	@Nonnull
 	@Override
 	public List<ClassEntry> getClassesInPackage(@Nullable String packageName) {
-		List<ClassEntry> entries = new ArrayList<>();
-		if (packageName == null) {
-			for (ClassEntry entry : classEntries.values())
-				if (entry.getName().indexOf('/') < 0)
-					entries.add(entry);
-		} else {
-			int packageNameLength = packageName.length();
-			for (ClassEntry entry : classEntries.values()) {
-				// The entry must start with the package name but not include subpackages.
-				// We do this by seeing if the entry's last package split character index matches our desired package name length.
-				// If so, it is in the same package and not a subpackage.
-				String entryName = entry.getName();
-				if (entryName.startsWith(packageName) && entryName.lastIndexOf('/') == packageNameLength)
-					entries.add(entry);
-			}
-		}
-		return entries;
+		Map<String, ClassEntry> entries = packageEntries.get(packageName);
+		if (entries == null)
+			return new ArrayList<>();
+		return new ArrayList<>(entries.values());
 	}
 }
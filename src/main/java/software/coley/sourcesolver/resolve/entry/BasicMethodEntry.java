@@ -2,11 +2,13 @@
 
 import jakarta.annotation.Nonnull;
 
-@SuppressWarnings("ClassCanBeRecord")
+import java.util.List;
+
 public class BasicMethodEntry implements MethodEntry {
 	private final String name;
 	private final String descriptor;
 	private final int access;
+	private MethodDescriptor parsedDescriptor;
 
 	public BasicMethodEntry(@Nonnull String name, @Nonnull String descriptor, int access) {
 		this.name = name;
@@ -14,6 +16,23 @@ public BasicMethodEntry(@Nonnull String name, @Nonnull String descriptor, int ac
 		this.access = access;
 	}
 
+	/**
+	 * @param name
+	 * 		Method name.
+	 * @param descriptor
+	 * 		Parsed method descriptor, which may be shared with other entries.
+	 * @param access
+	 * 		Method access flags.
+	 *
+	 * @see SymbolTable#newMethod(String, String, int)
+	 */
+	public BasicMethodEntry(@Nonnull String name, @Nonnull MethodDescriptor descriptor, int access) {
+		this.name = name;
+		this.descriptor = descriptor.descriptor();
+		this.access = access;
+		this.parsedDescriptor = descriptor;
+	}
+
 	@Nonnull
 	@Override
 	public String getName() {
@@ -31,6 +50,27 @@ public int getAccess() {
 		return access;
 	}
 
+	@Nonnull
+	@Override
+	public String getReturnDescriptor() {
+		return getParsedDescriptor().returnDescriptor();
+	}
+
+	@Nonnull
+	@Override
+	public List<String> getParameterDescriptors() {
+		return getParsedDescriptor().parameterDescriptors();
+	}
+
+	@Nonnull
+	private MethodDescriptor getParsedDescriptor() {
+		// Racing threads will parse equivalent descriptors, so it does not matter which one is kept.
+		MethodDescriptor parsed = parsedDescriptor;
+		if (parsed == null)
+			parsedDescriptor = parsed = MethodDescriptor.parse(descriptor);
+		return parsed;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -5,8 +5,12 @@
 
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -265,19 +269,96 @@ default List<MethodEntry> getDeclaredMethodsByName(@Nonnull String name) {
 		return matched;
 	}
 
+	/**
+	 * @return View of this class which only exposes {@code static} members, including through its parent classes.
+	 * Implementations should cache this, as it is used whenever members are looked up from a static context.
+	 */
+	@Nonnull
+	default ClassEntry getStaticView() {
+		return new StaticFilteredClassEntry(this);
+	}
+
 	/**
 	 * Visits the current class, and all parent classes <i>(extended or implemented)</i>.
+	 * Each class is visited once, in the order of {@link #getLinearizedHierarchy()}.
 	 *
 	 * @param consumer
 	 * 		Consumer to visit each class.
 	 */
 	default void visitHierarchy(@Nonnull Consumer<ClassEntry> consumer) {
-		consumer.accept(this);
-		ClassEntry superEntry = getSuperEntry();
+		getLinearizedHierarchy().forEach(consumer);
+	}
+
+	/**
+	 * The hierarchy is ordered depth-first, with the super-type of each class coming before its interfaces.
+	 * Classes reachable through multiple paths, such as interfaces implemented by both a class and its parent,
+	 * appear only at their first position.
+	 *
+	 * @return The current class, followed by all parent classes <i>(extended or implemented)</i>.
+	 * Implementations should cache this, as it backs member lookups.
+	 */
+	@Nonnull
+	default List<ClassEntry> getLinearizedHierarchy() {
+		Map<String, ClassEntry> hierarchy = new LinkedHashMap<>();
+		linearize(this, hierarchy);
+		return new ArrayList<>(hierarchy.values());
+	}
+
+	/**
+	 * @param name
+	 * 		Method name.
+	 *
+	 * @return All methods with the given name that are declared in this class, paired with this class,
+	 * followed by all non-private methods with the given name declared in parent classes, paired with their owners.
+	 * Ordered by {@link #getLinearizedHierarchy()}.
+	 */
+	@Nonnull
+	default List<ClassMemberPair> getVisibleMethodsByName(@Nonnull String name) {
+		List<ClassMemberPair> visible = new ArrayList<>();
+		for (ClassEntry owner : getLinearizedHierarchy())
+			for (MethodEntry method : owner.getDeclaredMethodsByName(name))
+				if (owner == this || !method.isPrivate())
+					visible.add(new ClassMemberPair(owner, method));
+		return visible;
+	}
+
+	/**
+	 * @param name
+	 * 		Field name.
+	 *
+	 * @return All fields with the given name that are declared in this class, paired with this class,
+	 * followed by all non-private fields with the given name declared in parent classes, paired with their owners.
+	 * Ordered by {@link #getLinearizedHierarchy()}.
+	 */
+	@Nonnull
+	default List<ClassMemberPair> getVisibleFieldsByName(@Nonnull String name) {
+		List<ClassMemberPair> visible = new ArrayList<>();
+		for (ClassEntry owner : getLinearizedHierarchy())
+			for (FieldEntry field : owner.getDeclaredFieldsByName(name))
+				if (owner == this || !field.isPrivate())
+					visible.add(new ClassMemberPair(owner, field));
+		return visible;
+	}
+
+	private static void linearize(@Nonnull ClassEntry entry, @Nonnull Map<String, ClassEntry> hierarchy) {
+		if (hierarchy.putIfAbsent(entry.getName(), entry) != null)
+			return;
+		ClassEntry superEntry = entry.getSuperEntry();
 		if (superEntry != null)
-			superEntry.visitHierarchy(consumer);
-		for (ClassEntry implementedEntry : getImplementedEntries())
-			implementedEntry.visitHierarchy(consumer);
+			linearize(superEntry, hierarchy);
+		for (ClassEntry implementedEntry : entry.getImplementedEntries())
+			linearize(implementedEntry, hierarchy);
+	}
+
+	/**
+	 * @return Names of the current class, and all parent classes <i>(extended or implemented)</i>.
+	 * Implementations should cache this, as it backs assignability checks.
+	 */
+	@Nonnull
+	default Set<String> getHierarchyNames() {
+		Set<String> names = new HashSet<>();
+		visitHierarchy(entry -> names.add(entry.getName()));
+		return names;
 	}
 
 	/**
@@ -287,14 +368,7 @@ default void visitHierarchy(@Nonnull Consumer<ClassEntry> consumer) {
 	 * @return {@code true} if this class extends or implements the requested class.
 	 */
 	default boolean extendsOrImplementsName(@Nonnull String name) {
-		if (getName().equals(name))
-			return true;
-		if (getSuperEntry() != null && getSuperEntry().extendsOrImplementsName(name))
-			return true;
-		for (ClassEntry implementedEntry : getImplementedEntries())
-			if (implementedEntry.extendsOrImplementsName(name))
-				return true;
-		return false;
+		return getName().equals(name) || getHierarchyNames().contains(name);
 	}
 
 	@Override
@@ -315,17 +389,8 @@ default boolean isAssignableFrom(@Nonnull ClassEntry child) {
 		if (Objects.equals(getName(), child.getName()) || getName().equals("java/lang/Object"))
 			return true;
 
-		// Check if their parent is assignable to our type.
-		ClassEntry superEntry = child.getSuperEntry();
-		if (superEntry != null && isAssignableFrom(superEntry))
-			return true;
-
-		// Check if their super-interfaces are assignable to our type.
-		for (ClassEntry implementedEntry : child.getImplementedEntries())
-			if (isAssignableFrom(implementedEntry))
-				return true;
-
-		return false;
+		// Check if we are anywhere in their hierarchy.
+		return child.getHierarchyNames().contains(getName());
 	}
 
 	/**
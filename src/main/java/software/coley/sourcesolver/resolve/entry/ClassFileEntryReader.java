@@ -0,0 +1,456 @@
+package software.coley.sourcesolver.resolve.entry;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads class entries directly from class files, without loading the classes.
+ * <p/>
+ * Classes are parsed as they are read, but their {@link BasicClassEntry} models are only created once their contents
+ * are first requested. Until then, they are represented in the pool by {@link LazyClassEntry} placeholders.
+ * This allows references to other classes <i>(such as super-types and inner classes)</i> to be linked to the entries
+ * in the pool regardless of the order in which classes are read. References to classes which are not in the pool
+ * at the time the referring class is loaded are omitted.
+ * <p/>
+ * Bulk reading of archives and directories parses class files in parallel, but registers the resulting entries
+ * from the calling thread. Thus, any pool implementation can be used. Error listeners however may be called from
+ * multiple threads at once.
+ *
+ * @author Matt Coley
+ */
+public class ClassFileEntryReader {
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final int ACC_SUPER = 0x20;
+	private static final String JMOD_CLASSES_PREFIX = "classes/";
+	private final EntryPool pool;
+
+	/**
+	 * @param pool
+	 * 		Pool to register read classes to.
+	 */
+	public ClassFileEntryReader(@Nonnull EntryPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * @param classFile
+	 * 		Bytes of a class file.
+	 *
+	 * @return Entry of the class, which has been registered to the pool.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		When the given bytes are not a valid class file.
+	 */
+	@Nonnull
+	public ClassEntry read(@Nonnull byte[] classFile) {
+		return register(parse(pool.getSymbolTable(), classFile));
+	}
+
+	/**
+	 * Reads all classes in a JAR file. Any {@code META-INF} contents, including multi-release classes, are ignored.
+	 *
+	 * @param jar
+	 * 		Path to a JAR file.
+	 * @param errorListener
+	 * 		Optional listener to be notified of entries that could not be read, keyed by their path in the archive.
+	 * 		When no listener is given, such entries are skipped silently.
+	 *
+	 * @return Number of classes read and registered to the pool.
+	 *
+	 * @throws IOException
+	 * 		When the file could not be opened as a ZIP archive.
+	 */
+	public int readJar(@Nonnull Path jar, @Nullable BiConsumer<String, Throwable> errorListener) throws IOException {
+		return readZip(jar, "", errorListener);
+	}
+
+	/**
+	 * Reads all classes in a JMOD file, such as those in the {@code jmods} directory of a JDK.
+	 *
+	 * @param jmod
+	 * 		Path to a JMOD file.
+	 * @param errorListener
+	 * 		Optional listener to be notified of entries that could not be read, keyed by their path in the archive.
+	 * 		When no listener is given, such entries are skipped silently.
+	 *
+	 * @return Number of classes read and registered to the pool.
+	 *
+	 * @throws IOException
+	 * 		When the file could not be opened as a JMOD archive.
+	 */
+	public int readJmod(@Nonnull Path jmod, @Nullable BiConsumer<String, Throwable> errorListener) throws IOException {
+		return readZip(jmod, JMOD_CLASSES_PREFIX, errorListener);
+	}
+
+	/**
+	 * Reads all classes in a directory and its sub-directories.
+	 *
+	 * @param directory
+	 * 		Path to a directory, such as the root of a compiler's output.
+	 * @param errorListener
+	 * 		Optional listener to be notified of files that could not be read, keyed by their path.
+	 * 		When no listener is given, such files are skipped silently.
+	 *
+	 * @return Number of classes read and registered to the pool.
+	 *
+	 * @throws IOException
+	 * 		When the directory could not be walked.
+	 */
+	public int readDirectory(@Nonnull Path directory, @Nullable BiConsumer<String, Throwable> errorListener) throws IOException {
+		List<Path> paths;
+		try (Stream<Path> stream = Files.walk(directory)) {
+			paths = stream.filter(path -> isClassFileName(path.getFileName().toString()) && Files.isRegularFile(path))
+					.toList();
+		}
+		SymbolTable symbols = pool.getSymbolTable();
+		List<ClassFile> classFiles = paths.parallelStream()
+				.map(path -> {
+					try {
+						return parse(symbols, Files.readAllBytes(path));
+					} catch (Throwable t) {
+						if (errorListener != null)
+							errorListener.accept(path.toString(), t);
+						return null;
+					}
+				})
+				.filter(Objects::nonNull)
+				.toList();
+		return registerAll(classFiles);
+	}
+
+	private int readZip(@Nonnull Path path, @Nonnull String prefix,
+	                    @Nullable BiConsumer<String, Throwable> errorListener) throws IOException {
+		try (ZipFile zip = new ZipFile(path.toFile())) {
+			List<? extends ZipEntry> entries = zip.stream()
+					.filter(entry -> {
+						String name = entry.getName();
+						return !entry.isDirectory()
+								&& name.startsWith(prefix)
+								&& !name.startsWith("META-INF/")
+								&& isClassFileName(name.substring(name.lastIndexOf('/') + 1));
+					})
+					.toList();
+			SymbolTable symbols = pool.getSymbolTable();
+			List<ClassFile> classFiles = entries.parallelStream()
+					.map(entry -> {
+						try (InputStream in = zip.getInputStream(entry)) {
+							return parse(symbols, in.readAllBytes());
+						} catch (Throwable t) {
+							if (errorListener != null)
+								errorListener.accept(entry.getName(), t);
+							return null;
+						}
+					})
+					.filter(Objects::nonNull)
+					.toList();
+			return registerAll(classFiles);
+		}
+	}
+
+	private int registerAll(@Nonnull List<ClassFile> classFiles) {
+		List<ClassEntry> entries = new ArrayList<>(classFiles.size());
+		for (ClassFile classFile : classFiles)
+			entries.add(new LazyClassEntry(classFile.name(), () -> toEntry(classFile)));
+		pool.registerAll(entries);
+		return entries.size();
+	}
+
+	@Nonnull
+	private ClassEntry register(@Nonnull ClassFile classFile) {
+		ClassEntry entry = new LazyClassEntry(classFile.name(), () -> toEntry(classFile));
+		pool.register(entry);
+		return entry;
+	}
+
+	@Nonnull
+	private BasicClassEntry toEntry(@Nonnull ClassFile classFile) {
+		ClassEntry superEntry = classFile.superName() == null ? null : pool.getClass(classFile.superName());
+		List<ClassEntry> interfaceEntries = lookup(classFile.interfaceNames());
+		List<ClassEntry> innerClassEntries = lookup(classFile.innerClassNames());
+		ClassEntry outerClass = classFile.outerClassName() == null ? null : pool.getClass(classFile.outerClassName());
+		return new BasicClassEntry(classFile.name(), classFile.access(), superEntry, interfaceEntries,
+				innerClassEntries, outerClass, classFile.fields(), classFile.methods());
+	}
+
+	@Nonnull
+	private List<ClassEntry> lookup(@Nonnull List<String> names) {
+		if (names.isEmpty())
+			return Collections.emptyList();
+		List<ClassEntry> entries = new ArrayList<>(names.size());
+		for (String name : names) {
+			ClassEntry entry = pool.getClass(name);
+			if (entry != null)
+				entries.add(entry);
+		}
+		return entries;
+	}
+
+	private static boolean isClassFileName(@Nonnull String fileName) {
+		return fileName.endsWith(".class") && !fileName.equals("module-info.class") && !fileName.equals("package-info.class");
+	}
+
+	/**
+	 * @param symbols
+	 * 		Table to share names and descriptors with.
+	 * @param bytes
+	 * 		Bytes of a class file.
+	 *
+	 * @return Parsed contents of the class file that are relevant to creating a class entry.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		When the given bytes are not a valid class file.
+	 */
+	@Nonnull
+	private static ClassFile parse(@Nonnull SymbolTable symbols, @Nonnull byte[] bytes) {
+		try {
+			return new ClassFileParser(symbols, bytes).parse();
+		} catch (IndexOutOfBoundsException ex) {
+			throw new IllegalArgumentException("Truncated or malformed class file", ex);
+		}
+	}
+
+	/**
+	 * Parsed contents of a class file.
+	 *
+	 * @param name
+	 * 		Class name.
+	 * @param access
+	 * 		Class access flags.
+	 * @param superName
+	 * 		Super-class name, or {@code null} for {@code java/lang/Object}.
+	 * @param interfaceNames
+	 * 		Implemented interface names.
+	 * @param outerClassName
+	 * 		Declaring class name, or {@code null} if the class is not a member of another class.
+	 * @param innerClassNames
+	 * 		Names of member classes.
+	 * @param fields
+	 * 		Declared fields.
+	 * @param methods
+	 * 		Declared methods.
+	 */
+	private record ClassFile(@Nonnull String name, int access, @Nullable String superName,
+	                         @Nonnull List<String> interfaceNames,
+	                         @Nullable String outerClassName, @Nonnull List<String> innerClassNames,
+	                         @Nonnull List<FieldEntry> fields, @Nonnull List<MethodEntry> methods) {}
+
+	/**
+	 * Minimal class file parser, only reading the constant pool entries which are needed to model
+	 * the class and its members. Method bodies and all other attributes are skipped.
+	 */
+	private static class ClassFileParser {
+		private static final int UTF8 = 1;
+		private static final int INTEGER = 3;
+		private static final int FLOAT = 4;
+		private static final int LONG = 5;
+		private static final int DOUBLE = 6;
+		private static final int CLASS = 7;
+		private static final int STRING = 8;
+		private static final int FIELD_REF = 9;
+		private static final int METHOD_REF = 10;
+		private static final int INTERFACE_METHOD_REF = 11;
+		private static final int NAME_AND_TYPE = 12;
+		private static final int METHOD_HANDLE = 15;
+		private static final int METHOD_TYPE = 16;
+		private static final int DYNAMIC = 17;
+		private static final int INVOKE_DYNAMIC = 18;
+		private static final int MODULE = 19;
+		private static final int PACKAGE = 20;
+		private final SymbolTable symbols;
+		private final byte[] bytes;
+		private int[] offsets;
+		private String[] strings;
+		private int position;
+
+		private ClassFileParser(@Nonnull SymbolTable symbols, @Nonnull byte[] bytes) {
+			this.symbols = symbols;
+			this.bytes = bytes;
+		}
+
+		@Nonnull
+		private ClassFile parse() {
+			if (bytes.length < 10 || readInt() != MAGIC)
+				throw new IllegalArgumentException("Not a class file, missing magic header");
+			position += 4; // minor + major versions
+			readConstantPool();
+
+			int access = readUnsignedShort() & ~ACC_SUPER;
+			String name = readClass();
+			String superName = readClass();
+			int interfaceCount = readUnsignedShort();
+			List<String> interfaceNames = new ArrayList<>(interfaceCount);
+			for (int i = 0; i < interfaceCount; i++)
+				interfaceNames.add(readClass());
+
+			int fieldCount = readUnsignedShort();
+			List<FieldEntry> fields = new ArrayList<>(fieldCount);
+			for (int i = 0; i < fieldCount; i++) {
+				int fieldAccess = readUnsignedShort();
+				String fieldName = readUtf8();
+				String fieldDesc = readUtf8();
+				skipAttributes();
+				fields.add(symbols.newField(fieldName, fieldDesc, fieldAccess));
+			}
+
+			int methodCount = readUnsignedShort();
+			List<MethodEntry> methods = new ArrayList<>(methodCount);
+			for (int i = 0; i < methodCount; i++) {
+				int methodAccess = readUnsignedShort();
+				String methodName = readUtf8();
+				String methodDesc = readUtf8();
+				skipAttributes();
+				methods.add(symbols.newMethod(methodName, methodDesc, methodAccess));
+			}
+
+			// The only class attribute we care about is 'InnerClasses' which tells us:
+			//  - The actual access flags of this class, if it is an inner class
+			//  - The outer class, if this is a member of another class
+			//  - The member classes declared in this class
+			String outerClassName = null;
+			List<String> innerClassNames = Collections.emptyList();
+			int attributeCount = readUnsignedShort();
+			for (int i = 0; i < attributeCount; i++) {
+				String attributeName = readUtf8();
+				int attributeLength = readInt();
+				int attributeEnd = position + attributeLength;
+				if ("InnerClasses".equals(attributeName)) {
+					int classCount = readUnsignedShort();
+					for (int j = 0; j < classCount; j++) {
+						String innerName = readClass();
+						String outerName = readClass();
+						position += 2; // inner simple name
+						int innerAccess = readUnsignedShort();
+						if (name.equals(innerName)) {
+							access = innerAccess & ~ACC_SUPER;
+							outerClassName = outerName;
+						} else if (name.equals(outerName) && innerName != null) {
+							if (innerClassNames.isEmpty())
+								innerClassNames = new ArrayList<>();
+							innerClassNames.add(innerName);
+						}
+					}
+				}
+				position = attributeEnd;
+			}
+
+			return new ClassFile(Objects.requireNonNull(name, "Class file has no name"), access, superName,
+					interfaceNames, outerClassName, innerClassNames, fields, methods);
+		}
+
+		private void readConstantPool() {
+			int count = readUnsignedShort();
+			offsets = new int[count];
+			strings = new String[count];
+			for (int i = 1; i < count; i++) {
+				int tag = bytes[position++];
+				offsets[i] = position;
+				switch (tag) {
+					case UTF8 -> position += 2 + readUnsignedShort(position);
+					case CLASS, STRING, METHOD_TYPE, MODULE, PACKAGE -> position += 2;
+					case METHOD_HANDLE -> position += 3;
+					case INTEGER, FLOAT, FIELD_REF, METHOD_REF, INTERFACE_METHOD_REF, NAME_AND_TYPE, DYNAMIC,
+					     INVOKE_DYNAMIC -> position += 4;
+					case LONG, DOUBLE -> {
+						// These take up two slots in the pool.
+						position += 8;
+						i++;
+					}
+					default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at index " + i);
+				}
+			}
+		}
+
+		@Nullable
+		private String readClass() {
+			int index = readUnsignedShort();
+			if (index == 0)
+				return null;
+			return utf8(readUnsignedShort(offsets[index]));
+		}
+
+		@Nonnull
+		private String readUtf8() {
+			return utf8(readUnsignedShort());
+		}
+
+		@Nonnull
+		private String utf8(int index) {
+			String string = strings[index];
+			if (string == null) {
+				int offset = offsets[index];
+				int length = readUnsignedShort(offset);
+				strings[index] = string = symbols.intern(decodeModifiedUtf8(offset + 2, length));
+			}
+			return string;
+		}
+
+		@Nonnull
+		private String decodeModifiedUtf8(int offset, int length) {
+			// Most names are plain ASCII, which we can take a shortcut for.
+			int end = offset + length;
+			boolean ascii = true;
+			for (int i = offset; i < end; i++) {
+				if (bytes[i] <= 0) {
+					ascii = false;
+					break;
+				}
+			}
+			if (ascii)
+				return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+
+			char[] chars = new char[length];
+			int count = 0;
+			for (int i = offset; i < end; ) {
+				int b = bytes[i++] & 0xFF;
+				if (b < 0x80) {
+					chars[count++] = (char) b;
+				} else if ((b & 0xE0) == 0xC0) {
+					chars[count++] = (char) (((b & 0x1F) << 6) | (bytes[i++] & 0x3F));
+				} else {
+					chars[count++] = (char) (((b & 0x0F) << 12) | ((bytes[i++] & 0x3F) << 6) | (bytes[i++] & 0x3F));
+				}
+			}
+			return new String(chars, 0, count);
+		}
+
+		private void skipAttributes() {
+			int count = readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				position += 2; // name
+				int length = readInt();
+				position += length;
+			}
+		}
+
+		private int readUnsignedShort() {
+			int value = readUnsignedShort(position);
+			position += 2;
+			return value;
+		}
+
+		private int readUnsignedShort(int offset) {
+			return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+		}
+
+		private int readInt() {
+			int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+					| ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+			position += 4;
+			return value;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package software.coley.sourcesolver.resolve.entry;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entry pool implementation which can be safely registered to and queried from multiple threads at once.
+ * <p/>
+ * Queries made while entries are being registered observe the pool as it is at that moment. A class registered
+ * concurrently with a query may or may not be included in its results.
+ * <p/>
+ * The package table is updated after the class table. Any class listed by {@link #getClassesInPackage(String)}
+ * can be found with {@link #getClass(String)}, but a class which was just registered may briefly be found by
+ * name before it is listed in its package. When a class is re-registered concurrently with a query, the package
+ * listing may briefly still hold the prior entry.
+ *
+ * @author Matt Coley
+ */
+public class ConcurrentEntryPool implements EntryPool {
+	private static final String DEFAULT_PACKAGE = "";
+	private static final int PARALLEL_REGISTER_THRESHOLD = 4096;
+	private final Map<String, ClassEntry> classEntries = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, ClassEntry>> packageEntries = new ConcurrentHashMap<>();
+	private final SymbolTable symbols = new SymbolTable();
+
+	@Nonnull
+	@Override
+	public SymbolTable getSymbolTable() {
+		return symbols;
+	}
+
+	@Override
+	public void register(@Nonnull ClassEntry entry) {
+		// The class table is published first, so any entry seen in the package table can already be found by name.
+		// The package table then takes whichever entry is current in the class table, so that when the same class
+		// is registered from multiple threads, the last update to the package table agrees on which entry won.
+		String packageName = entry.getPackageName();
+		String packageKey = packageName == null ? DEFAULT_PACKAGE : packageName;
+		classEntries.put(entry.getName(), entry);
+		packageEntries.computeIfAbsent(packageKey, p -> new ConcurrentHashMap<>())
+				.compute(entry.getName(), (name, existing) -> classEntries.get(name));
+	}
+
+	/**
+	 * Adds the given class to the current pool, unless a class of the same name is already registered.
+	 * When multiple threads register a class of the same name at once, all of them observe the same winning entry.
+	 *
+	 * @param entry
+	 * 		Class to add.
+	 *
+	 * @return The existing entry of the same name if there was one, otherwise the given entry.
+	 */
+	@Nonnull
+	public ClassEntry registerIfAbsent(@Nonnull ClassEntry entry) {
+		ClassEntry existing = classEntries.putIfAbsent(entry.getName(), entry);
+		if (existing != null)
+			return existing;
+		String packageName = entry.getPackageName();
+		String packageKey = packageName == null ? DEFAULT_PACKAGE : packageName;
+		packageEntries.computeIfAbsent(packageKey, p -> new ConcurrentHashMap<>())
+				.compute(entry.getName(), (name, prior) -> classEntries.get(name));
+		return entry;
+	}
+
+	/**
+	 * Large collections are registered in parallel.
+	 * Thus, if the collection contains multiple entries of the same name, which one is kept is unspecified.
+	 *
+	 * @param entries
+	 * 		Classes to add.
+	 */
+	@Override
+	public void registerAll(@Nonnull Collection<? extends ClassEntry> entries) {
+		if (entries.size() < PARALLEL_REGISTER_THRESHOLD)
+			EntryPool.super.registerAll(entries);
+		else
+			entries.parallelStream().forEach(this::register);
+	}
+
+	@Nullable
+	@Override
+	public ClassEntry getClass(@Nonnull String name) {
+		return classEntries.get(name);
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getClassesInPackage(@Nullable String packageName) {
+		Map<String, ClassEntry> entries = packageEntries.get(packageName == null ? DEFAULT_PACKAGE : packageName);
+		if (entries == null)
+			return new ArrayList<>();
+		return new ArrayList<>(entries.values());
+	}
+}
@@ -2,6 +2,7 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +19,30 @@ public interface EntryPool {
 	 */
 	void register(@Nonnull ClassEntry entry);
 
+	/**
+	 * The default implementation yields a new table on each call, so nothing is shared between entries.
+	 * Pools should override this to hold their own table, so that the names and descriptors of their entries are
+	 * shared, and can be collected along with the pool. {@link SymbolTable#getShared()} can be returned instead
+	 * when entries should be shared with everything else that opts into the shared table.
+	 *
+	 * @return Table to share names and descriptors across entries created for this pool.
+	 */
+	@Nonnull
+	default SymbolTable getSymbolTable() {
+		return new SymbolTable();
+	}
+
+	/**
+	 * Adds all the given classes to the current pool.
+	 *
+	 * @param entries
+	 * 		Classes to add.
+	 */
+	default void registerAll(@Nonnull Collection<? extends ClassEntry> entries) {
+		for (ClassEntry entry : entries)
+			register(entry);
+	}
+
 	/**
 	 * @param descriptor
 	 * 		Descriptor of some kind <i>(primitive, array, or class)</i>
@@ -0,0 +1,154 @@
+package software.coley.sourcesolver.resolve.entry;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache of a class's linearized hierarchy, and of the members visible through it.
+ * <p/>
+ * Backs the hierarchy lookups of class entries whose hierarchy does not change once it is first requested.
+ *
+ * @author Matt Coley
+ */
+final class HierarchyIndex {
+	private final ClassEntry owner;
+	private final List<ClassEntry> hierarchy;
+	private volatile Members<MethodEntry> methods;
+	private volatile Members<FieldEntry> fields;
+
+	/**
+	 * @param owner
+	 * 		Class to index the hierarchy of.
+	 */
+	HierarchyIndex(@Nonnull ClassEntry owner) {
+		this.owner = owner;
+
+		// Build off of the parent's linearized hierarchies, which are cached as well.
+		Map<String, ClassEntry> linearized = new LinkedHashMap<>();
+		linearized.put(owner.getName(), owner);
+		ClassEntry superEntry = owner.getSuperEntry();
+		if (superEntry != null)
+			for (ClassEntry entry : superEntry.getLinearizedHierarchy())
+				linearized.putIfAbsent(entry.getName(), entry);
+		for (ClassEntry implementedEntry : owner.getImplementedEntries())
+			for (ClassEntry entry : implementedEntry.getLinearizedHierarchy())
+				linearized.putIfAbsent(entry.getName(), entry);
+		hierarchy = List.copyOf(linearized.values());
+	}
+
+	/**
+	 * @return The owner class, followed by all parent classes.
+	 */
+	@Nonnull
+	List<ClassEntry> getHierarchy() {
+		return hierarchy;
+	}
+
+	/**
+	 * @param name
+	 * 		Method name.
+	 *
+	 * @return Methods visible in the owner class with the given name, paired with their declaring class.
+	 */
+	@Nonnull
+	List<ClassMemberPair> getVisibleMethods(@Nonnull String name) {
+		return methods().getVisible(name);
+	}
+
+	/**
+	 * @param name
+	 * 		Field name.
+	 *
+	 * @return Fields visible in the owner class with the given name, paired with their declaring class.
+	 */
+	@Nonnull
+	List<ClassMemberPair> getVisibleFields(@Nonnull String name) {
+		return fields().getVisible(name);
+	}
+
+	/**
+	 * @param name
+	 * 		Method name.
+	 * @param desc
+	 * 		Method descriptor.
+	 *
+	 * @return First non-private method with the given name and descriptor declared in a parent class.
+	 */
+	@Nullable
+	MethodEntry getInheritedMethod(@Nonnull String name, @Nonnull String desc) {
+		return methods().inherited().get(new BasicClassEntry.MemberKey(name, desc));
+	}
+
+	/**
+	 * @param name
+	 * 		Field name.
+	 * @param desc
+	 * 		Field descriptor.
+	 *
+	 * @return First non-private field with the given name and descriptor declared in a parent class.
+	 */
+	@Nullable
+	FieldEntry getInheritedField(@Nonnull String name, @Nonnull String desc) {
+		return fields().inherited().get(new BasicClassEntry.MemberKey(name, desc));
+	}
+
+	@Nonnull
+	private Members<MethodEntry> methods() {
+		// Racing threads will build equivalent tables, so it does not matter which one is kept.
+		Members<MethodEntry> members = methods;
+		if (members == null)
+			methods = members = new Members<>(owner, hierarchy, ClassEntry::getDeclaredMethods);
+		return members;
+	}
+
+	@Nonnull
+	private Members<FieldEntry> fields() {
+		Members<FieldEntry> members = fields;
+		if (members == null)
+			fields = members = new Members<>(owner, hierarchy, ClassEntry::getDeclaredFields);
+		return members;
+	}
+
+	/**
+	 * Flattened member tables of a hierarchy.
+	 *
+	 * @param visible
+	 * 		Map of member names to all visible members of that name, paired with their declaring class.
+	 * @param inherited
+	 * 		Map of member names and descriptors to the first non-private member declared with them in a parent class.
+	 * @param <M>
+	 * 		Member type.
+	 */
+	private record Members<M extends MemberEntry>(@Nonnull Map<String, List<ClassMemberPair>> visible,
+	                                              @Nonnull Map<BasicClassEntry.MemberKey, M> inherited) {
+		private Members(@Nonnull ClassEntry owner, @Nonnull List<ClassEntry> hierarchy,
+		                @Nonnull Function<ClassEntry, List<M>> declared) {
+			this(new HashMap<>(), new HashMap<>());
+			Map<String, List<ClassMemberPair>> lists = new HashMap<>();
+			for (ClassEntry entry : hierarchy) {
+				boolean isOwner = entry == owner;
+				for (M member : declared.apply(entry)) {
+					if (!isOwner && member.isPrivate())
+						continue;
+					lists.computeIfAbsent(member.getName(), n -> new ArrayList<>(1)).add(new ClassMemberPair(entry, member));
+					if (!isOwner)
+						inherited.putIfAbsent(new BasicClassEntry.MemberKey(member.getName(), member.getDescriptor()), member);
+				}
+			}
+			lists.forEach((name, list) -> visible.put(name, Collections.unmodifiableList(list)));
+		}
+
+		@Nonnull
+		private List<ClassMemberPair> getVisible(@Nonnull String name) {
+			return visible.getOrDefault(name, Collections.emptyList());
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package software.coley.sourcesolver.resolve.entry;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Placeholder implementation of {@link ClassEntry} which only knows its name up front.
+ * The rest of the class's contents <i>(access, hierarchy, inner classes, and members)</i> are provided by a loader
+ * which is called the first time any of them are requested.
+ * <p/>
+ * This allows pools to be filled with every class name that is available without paying the cost of modeling
+ * every class, most of which will never be looked at. Loaders should refer to other classes via placeholders
+ * as well, so that loading one class does not transitively load its entire hierarchy.
+ *
+ * @author Matt Coley
+ * @see ReflectiveClassEntry#lazy(ConcurrentEntryPool, ClassLoader, String)
+ */
+public class LazyClassEntry implements ClassEntry {
+	private final String className;
+	private Supplier<? extends ClassEntry> loader;
+	private volatile ClassEntry delegate;
+	private String descriptor;
+	private volatile HierarchyIndex hierarchyIndex;
+	private volatile StaticFilteredClassEntry staticView;
+
+	/**
+	 * @param className
+	 * 		Name of class in internal format.
+	 * @param loader
+	 * 		Loader to provide the full model of the class when it is first needed.
+	 */
+	public LazyClassEntry(@Nonnull String className, @Nonnull Supplier<? extends ClassEntry> loader) {
+		this.className = className;
+		this.loader = loader;
+	}
+
+	/**
+	 * @return {@code true} when the full model of the class has been loaded.
+	 */
+	public boolean isLoaded() {
+		return delegate != null;
+	}
+
+	/**
+	 * @return Full model of the class.
+	 *
+	 * @throws IllegalStateException
+	 * 		When the loader did not provide a model of the class.
+	 */
+	@Nonnull
+	public ClassEntry getDelegate() {
+		ClassEntry entry = delegate;
+		if (entry == null) {
+			synchronized (this) {
+				entry = delegate;
+				if (entry == null) {
+					entry = loader.get();
+					if (entry == null)
+						throw new IllegalStateException("Loader did not provide a model for class: " + className);
+					if (!entry.getName().equals(className))
+						throw new IllegalStateException("Loader provided a model of '" + entry.getName() +
+								"' in place of: " + className);
+					delegate = entry;
+
+					// Not needed anymore, let anything the loader captured be collected.
+					loader = null;
+				}
+			}
+		}
+		return entry;
+	}
+
+	@Nonnull
+	@Override
+	public String getName() {
+		return className;
+	}
+
+	@Nonnull
+	@Override
+	public String getDescriptor() {
+		String desc = descriptor;
+		if (desc == null)
+			descriptor = desc = ClassEntry.super.getDescriptor();
+		return desc;
+	}
+
+	@Override
+	public int getAccess() {
+		return getDelegate().getAccess();
+	}
+
+	@Nullable
+	@Override
+	public ClassEntry getSuperEntry() {
+		return getDelegate().getSuperEntry();
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getImplementedEntries() {
+		return getDelegate().getImplementedEntries();
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getInnerClassEntries() {
+		return getDelegate().getInnerClassEntries();
+	}
+
+	@Nullable
+	@Override
+	public ClassEntry getOuterClass() {
+		return getDelegate().getOuterClass();
+	}
+
+	@Nonnull
+	@Override
+	public Set<String> getHierarchyNames() {
+		return getDelegate().getHierarchyNames();
+	}
+
+	@Nonnull
+	@Override
+	public ClassEntry getCommonParent(@Nonnull ClassEntry other) {
+		// The delegate will yield itself if it is the common parent, but we want to yield the placeholder
+		// since that is what the rest of the pool refers to.
+		ClassEntry delegate = getDelegate();
+		ClassEntry parent = delegate.getCommonParent(other);
+		return parent == delegate ? this : parent;
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getLinearizedHierarchy() {
+		return hierarchyIndex().getHierarchy();
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassMemberPair> getVisibleMethodsByName(@Nonnull String name) {
+		return hierarchyIndex().getVisibleMethods(name);
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassMemberPair> getVisibleFieldsByName(@Nonnull String name) {
+		return hierarchyIndex().getVisibleFields(name);
+	}
+
+	@Nullable
+	@Override
+	public MethodEntry getMethod(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<MethodEntry> filter) {
+		MethodEntry method = getDeclaredMethod(name, desc, filter);
+		if (method != null)
+			return method;
+		return hierarchyIndex().getInheritedMethod(name, desc);
+	}
+
+	@Nullable
+	@Override
+	public FieldEntry getField(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<FieldEntry> filter) {
+		FieldEntry field = getDeclaredField(name, desc, filter);
+		if (field != null)
+			return field;
+		return hierarchyIndex().getInheritedField(name, desc);
+	}
+
+	@Nonnull
+	@Override
+	public List<FieldEntry> getDeclaredFields() {
+		return getDelegate().getDeclaredFields();
+	}
+
+	@Nonnull
+	@Override
+	public List<MethodEntry> getDeclaredMethods() {
+		return getDelegate().getDeclaredMethods();
+	}
+
+	@Nullable
+	@Override
+	public FieldEntry getDeclaredField(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<FieldEntry> filter) {
+		return getDelegate().getDeclaredField(name, desc, filter);
+	}
+
+	@Nonnull
+	@Override
+	public List<FieldEntry> getDeclaredFieldsByName(@Nonnull String name) {
+		return getDelegate().getDeclaredFieldsByName(name);
+	}
+
+	@Nullable
+	@Override
+	public MethodEntry getDeclaredMethod(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<MethodEntry> filter) {
+		return getDelegate().getDeclaredMethod(name, desc, filter);
+	}
+
+	@Nonnull
+	@Override
+	public List<MethodEntry> getDeclaredMethodsByName(@Nonnull String name) {
+		return getDelegate().getDeclaredMethodsByName(name);
+	}
+
+	@Nonnull
+	@Override
+	public ClassEntry getStaticView() {
+		// Also viewing this placeholder rather than the delegate, for the same reason as the hierarchy index.
+		StaticFilteredClassEntry view = staticView;
+		if (view == null)
+			staticView = view = new StaticFilteredClassEntry(this);
+		return view;
+	}
+
+	@Nonnull
+	private HierarchyIndex hierarchyIndex() {
+		// Indexed against this placeholder rather than the delegate, so that the hierarchy refers to this entry.
+		HierarchyIndex index = hierarchyIndex;
+		if (index == null)
+			hierarchyIndex = index = new HierarchyIndex(this);
+		return index;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		// Placeholders must not be loaded just to be compared, since loading is costly and may fail.
+		// Equality is by name only, so that it does not change depending on what has been loaded so far.
+		LazyClassEntry that = (LazyClassEntry) o;
+		return className.equals(that.className);
+	}
+
+	@Override
+	public int hashCode() {
+		return className.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return className;
+	}
+}
@@ -0,0 +1,434 @@
+package software.coley.sourcesolver.resolve.entry;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Entry pool implementation which serves classes from a snapshot file, written by {@link #write(Path, Collection)}.
+ * <p/>
+ * The snapshot is memory mapped rather than read into the heap. Lookups by class or package name go through hash
+ * tables stored in the snapshot, and class entries are only decoded once their contents are first requested.
+ * Opening a snapshot is thus nearly free regardless of how many classes it holds, and multiple processes opening
+ * the same snapshot share its pages.
+ * <p/>
+ * Snapshots are read-only. Classes {@link #register(ClassEntry) registered} to this pool are held in memory,
+ * and take precedence over classes of the same name in the snapshot. This also applies to the references between
+ * classes in the snapshot <i>(super-types, outer and inner classes)</i>, which are linked to registered classes when
+ * the referring class is decoded. Classes registered after that point are only seen by lookups.
+ *
+ * @author Matt Coley
+ */
+public class MappedEntryPool implements EntryPool {
+	private static final int MAGIC = 0x53534550; // "SSEP"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 9 * Integer.BYTES;
+	private final EntryPool overlay = new ConcurrentEntryPool();
+	private final SymbolTable symbols = overlay.getSymbolTable();
+	private final ByteBuffer buffer;
+	private final int classCount;
+	private final int stringOffsetsOffset;
+	private final int classOffsetsOffset;
+	private final int classHashOffset;
+	private final int packageHashOffset;
+	private final AtomicReferenceArray<ClassEntry> views;
+	private final AtomicReferenceArray<String> strings;
+
+	private MappedEntryPool(@Nonnull ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+			throw new IOException("Not an entry pool snapshot");
+		int version = buffer.getInt(4);
+		if (version != VERSION)
+			throw new IOException("Unsupported entry pool snapshot version: " + version);
+		classCount = buffer.getInt(12);
+		stringOffsetsOffset = buffer.getInt(20);
+		classOffsetsOffset = buffer.getInt(24);
+		classHashOffset = buffer.getInt(28);
+		packageHashOffset = buffer.getInt(32);
+		views = new AtomicReferenceArray<>(classCount);
+		strings = new AtomicReferenceArray<>(buffer.getInt(8));
+	}
+
+	/**
+	 * @param path
+	 * 		Path to a snapshot file.
+	 *
+	 * @return Pool serving the classes in the snapshot.
+	 *
+	 * @throws IOException
+	 * 		When the file could not be mapped, or is not a supported snapshot.
+	 */
+	@Nonnull
+	public static MappedEntryPool open(@Nonnull Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("Entry pool snapshot too large to map: " + size);
+			return new MappedEntryPool(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		}
+	}
+
+	/**
+	 * Writes a snapshot of the given classes. References to classes <i>(super-types, outer and inner classes)</i>
+	 * which are not included in the given classes are not recorded.
+	 *
+	 * @param path
+	 * 		Path to write the snapshot file to.
+	 * @param entries
+	 * 		Classes to include in the snapshot.
+	 *
+	 * @throws IOException
+	 * 		When the file could not be written.
+	 */
+	public static void write(@Nonnull Path path, @Nonnull Collection<? extends ClassEntry> entries) throws IOException {
+		Files.write(path, new SnapshotWriter(entries).write());
+	}
+
+	@Nonnull
+	@Override
+	public SymbolTable getSymbolTable() {
+		return symbols;
+	}
+
+	@Override
+	public void register(@Nonnull ClassEntry entry) {
+		overlay.register(entry);
+	}
+
+	@Nullable
+	@Override
+	public ClassEntry getClass(@Nonnull String name) {
+		ClassEntry entry = overlay.getClass(name);
+		if (entry != null)
+			return entry;
+
+		// Lookup the class in the snapshot's open-addressed hash table of class names.
+		byte[] key = name.getBytes(StandardCharsets.UTF_8);
+		int capacity = buffer.getInt(classHashOffset);
+		int slot = spread(name.hashCode()) & (capacity - 1);
+		while (true) {
+			int value = buffer.getInt(classHashOffset + Integer.BYTES * (1 + slot));
+			if (value == 0)
+				return null;
+			int index = value - 1;
+			if (stringEquals(buffer.getInt(classOffset(index)), key))
+				return view(index);
+			slot = (slot + 1) & (capacity - 1);
+		}
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getClassesInPackage(@Nullable String packageName) {
+		List<ClassEntry> entries = new ArrayList<>();
+		String key = packageName == null ? "" : packageName;
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int capacity = buffer.getInt(packageHashOffset);
+		int slot = spread(key.hashCode()) & (capacity - 1);
+		while (true) {
+			int packageOffset = buffer.getInt(packageHashOffset + Integer.BYTES * (1 + slot));
+			if (packageOffset == 0)
+				break;
+			if (stringEquals(buffer.getInt(packageOffset), keyBytes)) {
+				int count = buffer.getInt(packageOffset + Integer.BYTES);
+				for (int i = 0; i < count; i++) {
+					ClassEntry entry = view(buffer.getInt(packageOffset + Integer.BYTES * (2 + i)));
+					if (overlay.getClass(entry.getName()) == null)
+						entries.add(entry);
+				}
+				break;
+			}
+			slot = (slot + 1) & (capacity - 1);
+		}
+		entries.addAll(overlay.getClassesInPackage(packageName));
+		return entries;
+	}
+
+	/**
+	 * @param index
+	 * 		Index of a class in the snapshot.
+	 *
+	 * @return Entry of the class, decoded when its contents are first requested.
+	 */
+	@Nonnull
+	private ClassEntry view(int index) {
+		ClassEntry view = views.get(index);
+		if (view == null) {
+			String name = string(buffer.getInt(classOffset(index)));
+			view = new LazyClassEntry(name, () -> decode(index));
+			if (!views.compareAndSet(index, null, view))
+				view = views.get(index);
+		}
+		return view;
+	}
+
+	@Nonnull
+	private BasicClassEntry decode(int index) {
+		int offset = classOffset(index);
+		String name = string(buffer.getInt(offset));
+		int access = buffer.getInt(offset + 4);
+		int superIndex = buffer.getInt(offset + 8);
+		int outerIndex = buffer.getInt(offset + 12);
+		offset += 16;
+
+		int interfaceCount = buffer.getInt(offset);
+		offset += 4;
+		List<ClassEntry> interfaces = new ArrayList<>(interfaceCount);
+		for (int i = 0; i < interfaceCount; i++, offset += 4)
+			interfaces.add(link(buffer.getInt(offset)));
+
+		int innerCount = buffer.getInt(offset);
+		offset += 4;
+		List<ClassEntry> innerClasses = new ArrayList<>(innerCount);
+		for (int i = 0; i < innerCount; i++, offset += 4)
+			innerClasses.add(link(buffer.getInt(offset)));
+
+		int fieldCount = buffer.getInt(offset);
+		offset += 4;
+		List<FieldEntry> fields = new ArrayList<>(fieldCount);
+		for (int i = 0; i < fieldCount; i++, offset += 12)
+			fields.add(symbols.newField(string(buffer.getInt(offset)), string(buffer.getInt(offset + 4)), buffer.getInt(offset + 8)));
+
+		int methodCount = buffer.getInt(offset);
+		offset += 4;
+		List<MethodEntry> methods = new ArrayList<>(methodCount);
+		for (int i = 0; i < methodCount; i++, offset += 12)
+			methods.add(symbols.newMethod(string(buffer.getInt(offset)), string(buffer.getInt(offset + 4)), buffer.getInt(offset + 8)));
+
+		return new BasicClassEntry(name, access,
+				superIndex < 0 ? null : link(superIndex), interfaces, innerClasses,
+				outerIndex < 0 ? null : link(outerIndex), fields, methods);
+	}
+
+	/**
+	 * @param index
+	 * 		Index of a class in the snapshot, referenced by another class.
+	 *
+	 * @return Registered class of the same name if one exists, otherwise the entry of the class in the snapshot.
+	 */
+	@Nonnull
+	private ClassEntry link(int index) {
+		ClassEntry registered = overlay.getClass(string(buffer.getInt(classOffset(index))));
+		return registered != null ? registered : view(index);
+	}
+
+	private int classOffset(int index) {
+		return buffer.getInt(classOffsetsOffset + Integer.BYTES * index);
+	}
+
+	@Nonnull
+	private String string(int index) {
+		String string = strings.get(index);
+		if (string == null) {
+			int offset = buffer.getInt(stringOffsetsOffset + Integer.BYTES * index);
+			byte[] bytes = new byte[buffer.getInt(offset)];
+			buffer.get(offset + Integer.BYTES, bytes);
+			string = symbols.intern(new String(bytes, StandardCharsets.UTF_8));
+			strings.set(index, string);
+		}
+		return string;
+	}
+
+	private boolean stringEquals(int index, @Nonnull byte[] key) {
+		int offset = buffer.getInt(stringOffsetsOffset + Integer.BYTES * index);
+		if (buffer.getInt(offset) != key.length)
+			return false;
+		offset += Integer.BYTES;
+		for (int i = 0; i < key.length; i++)
+			if (buffer.get(offset + i) != key[i])
+				return false;
+		return true;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Writer of the snapshot format, which is laid out as follows:
+	 * <ol>
+	 *     <li>Header: magic, version, string count, class count, package count,
+	 *     and the offsets of the string offset table, class offset table, class hash table, and package hash table</li>
+	 *     <li>Strings: UTF-8 byte length followed by the bytes</li>
+	 *     <li>Classes: name string index, access, super-class index, outer class index,
+	 *     then counted lists of interface indices, inner class indices, fields, and methods.
+	 *     Members are stored as name string index, descriptor string index, and access.
+	 *     Absent classes are stored as {@code -1}.</li>
+	 *     <li>Packages: name string index, then a counted list of class indices</li>
+	 *     <li>String offset table, and class offset table</li>
+	 *     <li>Class hash table: capacity, then slots of class index plus one <i>(zero for empty slots)</i></li>
+	 *     <li>Package hash table: capacity, then slots of package offsets <i>(zero for empty slots)</i></li>
+	 * </ol>
+	 * All values are big-endian 32-bit integers.
+	 */
+	private static class SnapshotWriter {
+		private final Map<String, Integer> stringIndices = new HashMap<>();
+		private final List<String> strings = new ArrayList<>();
+		private final Map<String, Integer> classIndices = new LinkedHashMap<>();
+		private final List<ClassEntry> classes = new ArrayList<>();
+		private final Map<String, List<Integer>> packages = new LinkedHashMap<>();
+
+		private SnapshotWriter(@Nonnull Collection<? extends ClassEntry> entries) {
+			for (ClassEntry entry : entries) {
+				String name = entry.getName();
+				if (classIndices.putIfAbsent(name, classes.size()) == null) {
+					String packageName = entry.getPackageName();
+					packages.computeIfAbsent(packageName == null ? "" : packageName, p -> new ArrayList<>())
+							.add(classes.size());
+					classes.add(entry);
+				}
+			}
+		}
+
+		@Nonnull
+		private byte[] write() throws IOException {
+			// Collect all strings up front so they can be written before the records that refer to them.
+			for (ClassEntry entry : classes) {
+				intern(entry.getName());
+				for (FieldEntry field : entry.getDeclaredFields()) {
+					intern(field.getName());
+					intern(field.getDescriptor());
+				}
+				for (MethodEntry method : entry.getDeclaredMethods()) {
+					intern(method.getName());
+					intern(method.getDescriptor());
+				}
+			}
+			packages.keySet().forEach(this::intern);
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.write(new byte[HEADER_SIZE]);
+
+			int[] stringOffsets = new int[strings.size()];
+			for (int i = 0; i < stringOffsets.length; i++) {
+				stringOffsets[i] = out.size();
+				byte[] utf8 = strings.get(i).getBytes(StandardCharsets.UTF_8);
+				out.writeInt(utf8.length);
+				out.write(utf8);
+			}
+
+			int[] classOffsets = new int[classes.size()];
+			for (int i = 0; i < classOffsets.length; i++) {
+				classOffsets[i] = out.size();
+				ClassEntry entry = classes.get(i);
+				out.writeInt(stringIndices.get(entry.getName()));
+				out.writeInt(entry.getAccess());
+				out.writeInt(classIndex(entry.getSuperEntry()));
+				out.writeInt(classIndex(entry.getOuterClass()));
+				writeClassIndices(out, entry.getImplementedEntries());
+				writeClassIndices(out, entry.getInnerClassEntries());
+				List<FieldEntry> fields = entry.getDeclaredFields();
+				out.writeInt(fields.size());
+				for (FieldEntry field : fields) {
+					out.writeInt(stringIndices.get(field.getName()));
+					out.writeInt(stringIndices.get(field.getDescriptor()));
+					out.writeInt(field.getAccess());
+				}
+				List<MethodEntry> methods = entry.getDeclaredMethods();
+				out.writeInt(methods.size());
+				for (MethodEntry method : methods) {
+					out.writeInt(stringIndices.get(method.getName()));
+					out.writeInt(stringIndices.get(method.getDescriptor()));
+					out.writeInt(method.getAccess());
+				}
+			}
+
+			List<String> packageNames = new ArrayList<>(packages.keySet());
+			int[] packageOffsets = new int[packageNames.size()];
+			for (int i = 0; i < packageOffsets.length; i++) {
+				packageOffsets[i] = out.size();
+				List<Integer> packageClasses = packages.get(packageNames.get(i));
+				out.writeInt(stringIndices.get(packageNames.get(i)));
+				out.writeInt(packageClasses.size());
+				for (int classIndex : packageClasses)
+					out.writeInt(classIndex);
+			}
+
+			int stringOffsetsOffset = out.size();
+			for (int offset : stringOffsets)
+				out.writeInt(offset);
+			int classOffsetsOffset = out.size();
+			for (int offset : classOffsets)
+				out.writeInt(offset);
+
+			// Values in the hash tables are offset by one for classes, so that zero can mark empty slots.
+			// Package offsets are never zero since they come after the header.
+			int classHashOffset = out.size();
+			int[] classValues = new int[classes.size()];
+			for (int i = 0; i < classValues.length; i++)
+				classValues[i] = i + 1;
+			writeHashTable(out, new ArrayList<>(classIndices.keySet()), classValues);
+			int packageHashOffset = out.size();
+			writeHashTable(out, packageNames, packageOffsets);
+
+			ByteBuffer header = ByteBuffer.wrap(bytes.toByteArray());
+			header.putInt(0, MAGIC);
+			header.putInt(4, VERSION);
+			header.putInt(8, strings.size());
+			header.putInt(12, classes.size());
+			header.putInt(16, packageNames.size());
+			header.putInt(20, stringOffsetsOffset);
+			header.putInt(24, classOffsetsOffset);
+			header.putInt(28, classHashOffset);
+			header.putInt(32, packageHashOffset);
+			return header.array();
+		}
+
+		private void intern(@Nonnull String string) {
+			if (stringIndices.putIfAbsent(string, strings.size()) == null)
+				strings.add(string);
+		}
+
+		private int classIndex(@Nullable ClassEntry entry) {
+			if (entry == null)
+				return -1;
+			return classIndices.getOrDefault(entry.getName(), -1);
+		}
+
+		private void writeClassIndices(@Nonnull DataOutputStream out, @Nonnull List<ClassEntry> entries) throws IOException {
+			List<Integer> indices = new ArrayList<>(entries.size());
+			for (ClassEntry entry : entries) {
+				int index = classIndex(entry);
+				if (index >= 0)
+					indices.add(index);
+			}
+			out.writeInt(indices.size());
+			for (int index : indices)
+				out.writeInt(index);
+		}
+
+		private static void writeHashTable(@Nonnull DataOutputStream out, @Nonnull List<String> keys,
+		                                   @Nonnull int[] values) throws IOException {
+			// Keep the load factor at or below one half so that probe sequences stay short.
+			int capacity = Integer.highestOneBit(Math.max(1, keys.size()) * 2) << 1;
+			int[] slots = new int[capacity];
+			for (int i = 0; i < keys.size(); i++) {
+				int slot = spread(keys.get(i).hashCode()) & (capacity - 1);
+				while (slots[slot] != 0)
+					slot = (slot + 1) & (capacity - 1);
+				slots[slot] = values[i];
+			}
+			out.writeInt(capacity);
+			for (int slot : slots)
+				out.writeInt(slot);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package software.coley.sourcesolver.resolve.entry;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Parsed method descriptor.
+ *
+ * @param descriptor
+ * 		Full method descriptor.
+ * @param returnDescriptor
+ * 		Descriptor of the method's return type.
+ * @param parameterDescriptors
+ * 		Unmodifiable list of descriptors of all the method's parameters.
+ *
+ * @author Matt Coley
+ * @see SymbolTable#getMethodDescriptor(String)
+ */
+public record MethodDescriptor(@Nonnull String descriptor,
+                               @Nonnull String returnDescriptor,
+                               @Nonnull List<String> parameterDescriptors) {
+	/**
+	 * @param descriptor
+	 * 		Method descriptor to parse.
+	 *
+	 * @return Parsed method descriptor.
+	 */
+	@Nonnull
+	public static MethodDescriptor parse(@Nonnull String descriptor) {
+		return parse(descriptor, UnaryOperator.identity());
+	}
+
+	/**
+	 * @param descriptor
+	 * 		Method descriptor to parse.
+	 * @param interner
+	 * 		Function to canonicalize the parsed type descriptors with.
+	 *
+	 * @return Parsed method descriptor.
+	 */
+	@Nonnull
+	static MethodDescriptor parse(@Nonnull String descriptor, @Nonnull UnaryOperator<String> interner) {
+		List<String> parameterDescriptors = new ArrayList<>();
+		int currentOffset = 1;
+		while (descriptor.charAt(currentOffset) != ')') {
+			final int currentArgumentTypeOffset = currentOffset;
+			while (descriptor.charAt(currentOffset) == '[')
+				currentOffset++;
+			if (descriptor.charAt(currentOffset++) == 'L') {
+				int semiColumnOffset = descriptor.indexOf(';', currentOffset);
+				currentOffset = Math.max(currentOffset, semiColumnOffset + 1);
+			}
+			String parameterDescriptor = descriptor.substring(currentArgumentTypeOffset, currentOffset);
+			parameterDescriptors.add(interner.apply(parameterDescriptor));
+		}
+		String returnDescriptor = interner.apply(descriptor.substring(currentOffset + 1));
+		return new MethodDescriptor(descriptor, returnDescriptor, parameterDescriptors.isEmpty() ?
+				Collections.emptyList() : Collections.unmodifiableList(parameterDescriptors));
+	}
+}
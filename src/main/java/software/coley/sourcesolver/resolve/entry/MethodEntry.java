@@ -3,7 +3,6 @@
 import jakarta.annotation.Nonnull;
 
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -26,21 +25,7 @@ default String getReturnDescriptor() {
 	 */
 	@Nonnull
 	default List<String> getParameterDescriptors() {
-		List<String> parameterDescriptors = new ArrayList<>();
-		String methodDescriptor = getDescriptor();
-		int currentOffset = 1;
-		while (methodDescriptor.charAt(currentOffset) != ')') {
-			final int currentArgumentTypeOffset = currentOffset;
-			while (methodDescriptor.charAt(currentOffset) == '[')
-				currentOffset++;
-			if (methodDescriptor.charAt(currentOffset++) == 'L') {
-				int semiColumnOffset = methodDescriptor.indexOf(';', currentOffset);
-				currentOffset = Math.max(currentOffset, semiColumnOffset + 1);
-			}
-			String parameterDescriptor = methodDescriptor.substring(currentArgumentTypeOffset, currentOffset);
-			parameterDescriptors.add(parameterDescriptor);
-		}
-		return parameterDescriptors;
+		return MethodDescriptor.parse(getDescriptor()).parameterDescriptors();
 	}
 
 	@Override
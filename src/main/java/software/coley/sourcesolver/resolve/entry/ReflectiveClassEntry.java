@@ -29,58 +29,161 @@ private ReflectiveClassEntry(@Nonnull String className,
 	}
 
 	/**
+	 * @param cache
+	 * 		Cache of prior built entries, by their internal names.
 	 * @param cls
 	 * 		Class to create an entry for.
 	 *
 	 * @return Class entry modeling the class.
+	 *
+	 * @deprecated Uses a new symbol table for each call, so names and descriptors are not shared with entries built
+	 * by other calls. Use {@link #build(SymbolTable, Map, Class)} with the table of the pool the entries are for.
 	 */
 	@Nonnull
+	@Deprecated
 	public static ClassEntry build(@Nonnull Map<String, ClassEntry> cache, @Nonnull Class<?> cls) {
-		String className = cls.getName().replace('.', '/');
+		return build(new SymbolTable(), cache, cls);
+	}
+
+	/**
+	 * @param symbols
+	 * 		Table to share names and descriptors with, typically {@link EntryPool#getSymbolTable()} of the pool
+	 * 		the entries will be registered to.
+	 * @param cache
+	 * 		Cache of prior built entries, by their internal names.
+	 * @param cls
+	 * 		Class to create an entry for.
+	 *
+	 * @return Class entry modeling the class.
+	 */
+	@Nonnull
+	public static ClassEntry build(@Nonnull SymbolTable symbols, @Nonnull Map<String, ClassEntry> cache, @Nonnull Class<?> cls) {
+		String className = getInternalName(cls);
 		ClassEntry cached = cache.get(className);
 		if (cached != null)
 			return cached;
 
+		List<FieldEntry> fields = reflectFields(symbols, cls);
+		List<MethodEntry> methods = reflectMethods(symbols, cls);
+		Class<?> superClass = getSuperClass(cls);
+		Class<?>[] interfaces = cls.getInterfaces();
+		ClassEntry superEntry = superClass == null ? null : build(symbols, cache, superClass);
+		List<ClassEntry> interfaceEntries = new ArrayList<>(interfaces.length);
+		for (Class<?> implemented : interfaces)
+			interfaceEntries.add(build(symbols, cache, implemented));
+		Class<?>[] innerClasses = cls.getDeclaredClasses();
+		List<ClassEntry> innerClassEntries = new ArrayList<>();
+		int modifiers = cls.getModifiers();
+		Class<?> outerClass = cls.getDeclaringClass();
+		ClassEntry outerClassEntry= outerClass == null ? null : build(symbols, cache, outerClass);
+		ClassEntry entry = new BasicClassEntry(symbols.intern(className), modifiers, superEntry, interfaceEntries,
+				innerClassEntries, outerClassEntry, fields, methods);
+		cache.put(className, entry);
+
+		// I know this is REALLY cringe putting the inner class population AFTER the building of the model,
+		// but if we don't do this we run the risk of running into a cycle.
+		for (Class<?> innerClass : innerClasses)
+			if (isInnerClass(cls, innerClass))
+				innerClassEntries.add(build(symbols, cache, innerClass));
+
+		return entry;
+	}
+
+	/**
+	 * Gets or creates a placeholder entry for the given class in the given pool. The class is not looked up
+	 * until the contents of the entry are first requested. Any classes referenced by the entry are also
+	 * placeholders, allowing a pool to be filled with every available class name while only modeling
+	 * the classes which are actually used.
+	 * <p/>
+	 * Placeholders for the inner classes of the given class are only registered once the given class is loaded.
+	 * Callers which need to look up inner classes by name should register their names as well.
+	 * <p/>
+	 * Since placeholders can be loaded from any thread, and loading registers more placeholders to the pool,
+	 * the pool must support concurrent registration. Registration goes through
+	 * {@link ConcurrentEntryPool#registerIfAbsent(ClassEntry)} so that each class has only a single placeholder,
+	 * even when multiple threads ask for it at once.
+	 *
+	 * @param pool
+	 * 		Pool to get the existing entry from, or register the placeholder entry to.
+	 * @param loader
+	 * 		Class loader to look up the class with.
+	 * @param className
+	 * 		Name of class in internal format.
+	 *
+	 * @return Class entry modeling the class.
+	 * Accessing the contents of the entry throws {@link IllegalStateException} if the class cannot be found.
+	 */
+	@Nonnull
+	public static ClassEntry lazy(@Nonnull ConcurrentEntryPool pool, @Nonnull ClassLoader loader, @Nonnull String className) {
+		ClassEntry existing = pool.getClass(className);
+		if (existing != null)
+			return existing;
+
+		ClassEntry entry = new LazyClassEntry(className, () -> {
+			Class<?> cls;
+			try {
+				cls = Class.forName(className.replace('/', '.'), false, loader);
+			} catch (ClassNotFoundException | LinkageError ex) {
+				throw new IllegalStateException("Failed to load class: " + className, ex);
+			}
+			Class<?> superClass = getSuperClass(cls);
+			ClassEntry superEntry = superClass == null ? null : lazy(pool, loader, getInternalName(superClass));
+			List<ClassEntry> interfaceEntries = new ArrayList<>();
+			for (Class<?> implemented : cls.getInterfaces())
+				interfaceEntries.add(lazy(pool, loader, getInternalName(implemented)));
+			List<ClassEntry> innerClassEntries = new ArrayList<>();
+			for (Class<?> innerClass : cls.getDeclaredClasses())
+				if (isInnerClass(cls, innerClass))
+					innerClassEntries.add(lazy(pool, loader, getInternalName(innerClass)));
+			Class<?> outerClass = cls.getDeclaringClass();
+			ClassEntry outerClassEntry = outerClass == null ? null : lazy(pool, loader, getInternalName(outerClass));
+			SymbolTable symbols = pool.getSymbolTable();
+			return new BasicClassEntry(className, cls.getModifiers(), superEntry, interfaceEntries,
+					innerClassEntries, outerClassEntry, reflectFields(symbols, cls), reflectMethods(symbols, cls));
+		});
+		return pool.registerIfAbsent(entry);
+	}
+
+	@Nonnull
+	private static List<FieldEntry> reflectFields(@Nonnull SymbolTable symbols, @Nonnull Class<?> cls) {
 		List<FieldEntry> fields = new ArrayList<>();
-		List<MethodEntry> methods = new ArrayList<>();
 		for (Field field : cls.getDeclaredFields()) {
 			String fieldName = field.getName();
 			String fieldDescriptor = field.getType().descriptorString();
 			int modifiers = field.getModifiers();
-			fields.add(new BasicFieldEntry(fieldName, fieldDescriptor, modifiers));
+			fields.add(symbols.newField(fieldName, fieldDescriptor, modifiers));
 		}
+		return fields;
+	}
+
+	@Nonnull
+	private static List<MethodEntry> reflectMethods(@Nonnull SymbolTable symbols, @Nonnull Class<?> cls) {
+		List<MethodEntry> methods = new ArrayList<>();
 		for (Constructor<?> constructor : cls.getDeclaredConstructors()) {
 			String methodDescriptor = MethodType.methodType(void.class, constructor.getParameterTypes()).descriptorString();
 			int modifiers = constructor.getModifiers();
-			methods.add(new BasicMethodEntry("<init>", methodDescriptor, modifiers));
+			methods.add(symbols.newMethod("<init>", methodDescriptor, modifiers));
 		}
 		for (Method method : cls.getDeclaredMethods()) {
 			String methodName = method.getName();
 			String methodDescriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes()).descriptorString();
 			int modifiers = method.getModifiers();
-			methods.add(new BasicMethodEntry(methodName, methodDescriptor, modifiers));
+			methods.add(symbols.newMethod(methodName, methodDescriptor, modifiers));
 		}
-		Class<?> superClass = cls.isInterface() ? Object.class : cls.getSuperclass();
-		Class<?>[] interfaces = cls.getInterfaces();
-		ClassEntry superEntry = superClass == null ? null : build(cache, superClass);
-		List<ClassEntry> interfaceEntries = new ArrayList<>(interfaces.length);
-		for (Class<?> implemented : interfaces)
-			interfaceEntries.add(build(cache, implemented));
-		Class<?>[] innerClasses = cls.getDeclaredClasses();
-		List<ClassEntry> innerClassEntries = new ArrayList<>();
-		int modifiers = cls.getModifiers();
-		Class<?> outerClass = cls.getDeclaringClass();
-		ClassEntry outerClassEntry= outerClass == null ? null : build(cache, outerClass);
-		ClassEntry entry = new BasicClassEntry(className, modifiers, superEntry, interfaceEntries,
-				innerClassEntries, outerClassEntry, fields, methods);
-		cache.put(className, entry);
+		return methods;
+	}
 
-		// I know this is REALLY cringe putting the inner class population AFTER the building of the model,
-		// but if we don't do this we run the risk of running into a cycle.
-		for (Class<?> innerClass : innerClasses)
-			if (innerClass.getName().startsWith(cls.getName() + "$") && !innerClass.getName().equals(cls.getName()))
-				innerClassEntries.add(build(cache, innerClass));
+	@Nullable
+	private static Class<?> getSuperClass(@Nonnull Class<?> cls) {
+		return cls.isInterface() ? Object.class : cls.getSuperclass();
+	}
 
-		return entry;
+	private static boolean isInnerClass(@Nonnull Class<?> outer, @Nonnull Class<?> inner) {
+		return inner.getName().startsWith(outer.getName() + "$") && !inner.getName().equals(outer.getName());
+	}
+
+	@Nonnull
+	private static String getInternalName(@Nonnull Class<?> cls) {
+		return cls.getName().replace('.', '/');
 	}
 }
@@ -2,14 +2,27 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Delegating implementation of {@link ClassEntry} which limits member visibility to items that are {@code static}.
+ * <p/>
+ * Parent classes are also viewed through their {@link ClassEntry#getStaticView() static views}, and filtered members
+ * are computed once, so repeated lookups against a cached view do not allocate.
+ *
+ * @see ClassEntry#getStaticView()
  */
 public class StaticFilteredClassEntry implements ClassEntry {
 	private final ClassEntry delegate;
+	private volatile List<ClassEntry> implementedEntries;
+	private volatile StaticMembers<FieldEntry> fieldMembers;
+	private volatile StaticMembers<MethodEntry> methodMembers;
+	private volatile HierarchyIndex hierarchyIndex;
 
 	public StaticFilteredClassEntry(@Nonnull ClassEntry delegate) {this.delegate = delegate;}
 
@@ -24,16 +37,21 @@ public ClassEntry getSuperEntry() {
 		ClassEntry superEntry = delegate.getSuperEntry();
 		if (superEntry == null)
 			return null;
-		return new StaticFilteredClassEntry(superEntry);
+		return superEntry.getStaticView();
 	}
 
 	@Nonnull
 	@Override
-	@SuppressWarnings("unchecked")
 	public List<ClassEntry> getImplementedEntries() {
-		return (List<ClassEntry>) (List<?>) delegate.getImplementedEntries().stream()
-				.map(StaticFilteredClassEntry::new)
-				.toList();
+		List<ClassEntry> entries = implementedEntries;
+		if (entries == null) {
+			List<ClassEntry> delegateEntries = delegate.getImplementedEntries();
+			List<ClassEntry> views = new ArrayList<>(delegateEntries.size());
+			for (ClassEntry entry : delegateEntries)
+				views.add(entry.getStaticView());
+			implementedEntries = entries = Collections.unmodifiableList(views);
+		}
+		return entries;
 	}
 
 	@Nonnull
@@ -56,19 +74,142 @@ public String getName() {
 		return delegate.getName();
 	}
 
+	@Nonnull
+	@Override
+	public String getDescriptor() {
+		return delegate.getDescriptor();
+	}
+
+	@Nonnull
+	@Override
+	public ClassEntry getStaticView() {
+		return this;
+	}
+
 	@Nonnull
 	@Override
 	public List<FieldEntry> getDeclaredFields() {
-		return delegate.getDeclaredFields().stream()
-				.filter(AccessedEntry::isStatic)
-				.collect(Collectors.toList());
+		return fieldMembers().members();
 	}
 
 	@Nonnull
 	@Override
 	public List<MethodEntry> getDeclaredMethods() {
-		return delegate.getDeclaredMethods().stream()
-				.filter(AccessedEntry::isStatic)
-				.collect(Collectors.toList());
+		return methodMembers().members();
+	}
+
+	@Nullable
+	@Override
+	public FieldEntry getDeclaredField(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<FieldEntry> filter) {
+		return fieldMembers().index().get(name, desc, filter);
+	}
+
+	@Nonnull
+	@Override
+	public List<FieldEntry> getDeclaredFieldsByName(@Nonnull String name) {
+		return fieldMembers().index().getByName(name);
+	}
+
+	@Nullable
+	@Override
+	public MethodEntry getDeclaredMethod(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<MethodEntry> filter) {
+		return methodMembers().index().get(name, desc, filter);
+	}
+
+	@Nonnull
+	@Override
+	public List<MethodEntry> getDeclaredMethodsByName(@Nonnull String name) {
+		return methodMembers().index().getByName(name);
+	}
+
+	@Nonnull
+	@Override
+	public Set<String> getHierarchyNames() {
+		// Filtering members does not change the names of classes in the hierarchy.
+		return delegate.getHierarchyNames();
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassEntry> getLinearizedHierarchy() {
+		return hierarchyIndex().getHierarchy();
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassMemberPair> getVisibleMethodsByName(@Nonnull String name) {
+		return hierarchyIndex().getVisibleMethods(name);
+	}
+
+	@Nonnull
+	@Override
+	public List<ClassMemberPair> getVisibleFieldsByName(@Nonnull String name) {
+		return hierarchyIndex().getVisibleFields(name);
+	}
+
+	@Nullable
+	@Override
+	public MethodEntry getMethod(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<MethodEntry> filter) {
+		MethodEntry method = getDeclaredMethod(name, desc, filter);
+		if (method != null)
+			return method;
+		return hierarchyIndex().getInheritedMethod(name, desc);
+	}
+
+	@Nullable
+	@Override
+	public FieldEntry getField(@Nonnull String name, @Nonnull String desc, @Nullable Predicate<FieldEntry> filter) {
+		FieldEntry field = getDeclaredField(name, desc, filter);
+		if (field != null)
+			return field;
+		return hierarchyIndex().getInheritedField(name, desc);
+	}
+
+	@Nonnull
+	private StaticMembers<FieldEntry> fieldMembers() {
+		// Racing threads may each filter the members, but they will be equivalent so it does not matter which one is kept.
+		StaticMembers<FieldEntry> members = fieldMembers;
+		if (members == null)
+			fieldMembers = members = StaticMembers.of(delegate.getDeclaredFields());
+		return members;
+	}
+
+	@Nonnull
+	private StaticMembers<MethodEntry> methodMembers() {
+		StaticMembers<MethodEntry> members = methodMembers;
+		if (members == null)
+			methodMembers = members = StaticMembers.of(delegate.getDeclaredMethods());
+		return members;
+	}
+
+	@Nonnull
+	private HierarchyIndex hierarchyIndex() {
+		HierarchyIndex index = hierarchyIndex;
+		if (index == null)
+			hierarchyIndex = index = new HierarchyIndex(this);
+		return index;
+	}
+
+	/**
+	 * Static members of the delegate class.
+	 *
+	 * @param members
+	 * 		List of the static members.
+	 * @param index
+	 * 		Index of the static members.
+	 * @param <M>
+	 * 		Member type.
+	 */
+	private record StaticMembers<M extends MemberEntry>(@Nonnull List<M> members,
+	                                                    @Nonnull BasicClassEntry.MemberIndex<M> index) {
+		@Nonnull
+		private static <M extends MemberEntry> StaticMembers<M> of(@Nonnull List<M> declared) {
+			List<M> members = new ArrayList<>();
+			for (M member : declared)
+				if (member.isStatic())
+					members.add(member);
+			members = Collections.unmodifiableList(members);
+			return new StaticMembers<>(members, new BasicClassEntry.MemberIndex<>(members));
+		}
 	}
 }
@@ -0,0 +1,93 @@
+package software.coley.sourcesolver.resolve.entry;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of canonical instances of names and descriptors, and of parsed method descriptors.
+ * <p/>
+ * Entries built with the same table share their names and descriptors. Members with the same descriptor also share
+ * a single parsed {@link MethodDescriptor}, so their parameter and return types are only ever parsed once.
+ * Tables are safe to use from multiple threads.
+ *
+ * @author Matt Coley
+ * @see EntryPool#getSymbolTable()
+ */
+public class SymbolTable {
+	private static final SymbolTable SHARED = new SymbolTable();
+	private final Map<String, String> strings = new ConcurrentHashMap<>();
+	private final Map<String, MethodDescriptor> methodDescriptors = new ConcurrentHashMap<>();
+
+	/**
+	 * The shared table is never cleared, so anything interned into it is kept for the life of the application.
+	 * It should only be used when that is intended, such as for a single pool modeling the runtime's own classes.
+	 * Pools otherwise have their own table, see {@link EntryPool#getSymbolTable()}.
+	 *
+	 * @return Table shared by everything which opts into it.
+	 */
+	@Nonnull
+	public static SymbolTable getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * @param string
+	 * 		Some name or descriptor.
+	 *
+	 * @return Canonical instance of the given string.
+	 */
+	@Nonnull
+	public String intern(@Nonnull String string) {
+		String existing = strings.putIfAbsent(string, string);
+		return existing == null ? string : existing;
+	}
+
+	/**
+	 * @param descriptor
+	 * 		Method descriptor.
+	 *
+	 * @return Canonical parsed instance of the given descriptor.
+	 */
+	@Nonnull
+	public MethodDescriptor getMethodDescriptor(@Nonnull String descriptor) {
+		MethodDescriptor parsed = methodDescriptors.get(descriptor);
+		if (parsed == null) {
+			String canonicalDescriptor = intern(descriptor);
+			parsed = methodDescriptors.computeIfAbsent(canonicalDescriptor,
+					d -> MethodDescriptor.parse(d, this::intern));
+		}
+		return parsed;
+	}
+
+	/**
+	 * @param name
+	 * 		Field name.
+	 * @param descriptor
+	 * 		Field descriptor.
+	 * @param access
+	 * 		Field access flags.
+	 *
+	 * @return New field entry sharing its name and descriptor with other entries from this table.
+	 */
+	@Nonnull
+	public FieldEntry newField(@Nonnull String name, @Nonnull String descriptor, int access) {
+		return new BasicFieldEntry(intern(name), intern(descriptor), access);
+	}
+
+	/**
+	 * @param name
+	 * 		Method name.
+	 * @param descriptor
+	 * 		Method descriptor.
+	 * @param access
+	 * 		Method access flags.
+	 *
+	 * @return New method entry sharing its name and parsed descriptor with other entries from this table.
+	 */
+	@Nonnull
+	public MethodEntry newMethod(@Nonnull String name, @Nonnull String descriptor, int access) {
+		return new BasicMethodEntry(intern(name), getMethodDescriptor(descriptor), access);
+	}
+}
@@ -0,0 +1,85 @@
+package software.coley.sourcesolver.util;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Simple model of a replacement of a region of text.
+ *
+ * @param begin
+ * 		Start of the replaced region <i>(inclusive)</i>.
+ * @param end
+ * 		End of the replaced region <i>(exclusive)</i>.
+ * @param replacement
+ * 		Text to put in place of the replaced region.
+ *
+ * @author Matt Coley
+ */
+public record TextEdit(int begin, int end, @Nonnull String replacement) {
+	/**
+	 * @param begin
+	 * 		Start of the replaced region <i>(inclusive)</i>.
+	 * @param end
+	 * 		End of the replaced region <i>(exclusive)</i>.
+	 * @param replacement
+	 * 		Text to put in place of the replaced region.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		When the region is invalid, or no replacement is given.
+	 */
+	@SuppressWarnings("ConstantValue")
+	public TextEdit {
+		if (begin < 0 || end < begin)
+			throw new IllegalArgumentException("Invalid edit region: [" + begin + ", " + end + ")");
+		if (replacement == null)
+			throw new IllegalArgumentException("Must provide replacement text, use an empty string for deletions");
+	}
+
+	/**
+	 * @param position
+	 * 		Position to insert text at.
+	 * @param text
+	 * 		Text to insert.
+	 *
+	 * @return Edit modeling the insertion.
+	 */
+	@Nonnull
+	public static TextEdit insert(int position, @Nonnull String text) {
+		return new TextEdit(position, position, text);
+	}
+
+	/**
+	 * @param begin
+	 * 		Start of the region to delete <i>(inclusive)</i>.
+	 * @param end
+	 * 		End of the region to delete <i>(exclusive)</i>.
+	 *
+	 * @return Edit modeling the deletion.
+	 */
+	@Nonnull
+	public static TextEdit delete(int begin, int end) {
+		return new TextEdit(begin, end, "");
+	}
+
+	/**
+	 * @return Difference in text length after applying this edit.
+	 */
+	public int delta() {
+		return replacement.length() - (end - begin);
+	}
+
+	/**
+	 * @param text
+	 * 		Text to apply the edit to.
+	 *
+	 * @return Modified text.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		When the edit region is outside the bounds of the given text.
+	 */
+	@Nonnull
+	public String apply(@Nonnull String text) {
+		if (end > text.length())
+			throw new IllegalArgumentException("Edit region [" + begin + ", " + end + ") exceeds text length " + text.length());
+		return text.substring(0, begin) + replacement + text.substring(end);
+	}
+}
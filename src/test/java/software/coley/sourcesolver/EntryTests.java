@@ -0,0 +1,536 @@
+package software.coley.sourcesolver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.coley.sourcesolver.resolve.entry.BasicClassEntry;
+import software.coley.sourcesolver.resolve.entry.BasicEntryPool;
+import software.coley.sourcesolver.resolve.entry.BasicMethodEntry;
+import software.coley.sourcesolver.resolve.entry.ClassEntry;
+import software.coley.sourcesolver.resolve.entry.ClassFileEntryReader;
+import software.coley.sourcesolver.resolve.entry.ClassMemberPair;
+import software.coley.sourcesolver.resolve.entry.ConcurrentEntryPool;
+import software.coley.sourcesolver.resolve.entry.EntryPool;
+import software.coley.sourcesolver.resolve.entry.FieldEntry;
+import software.coley.sourcesolver.resolve.entry.LazyClassEntry;
+import software.coley.sourcesolver.resolve.entry.MappedEntryPool;
+import software.coley.sourcesolver.resolve.entry.MethodDescriptor;
+import software.coley.sourcesolver.resolve.entry.MethodEntry;
+import software.coley.sourcesolver.resolve.entry.ReflectiveClassEntry;
+import software.coley.sourcesolver.resolve.entry.SymbolTable;
+import software.coley.sourcesolver.util.Utils;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class EntryTests {
+	private static final EntryPool pool = Utils.getSharedPool();
+
+	@Test
+	void testIndexedMemberLookupsMatchDeclarations() {
+		for (String packageName : List.of("java/lang", "java/util", "sample")) {
+			for (ClassEntry entry : pool.getClassesInPackage(packageName)) {
+				for (MethodEntry method : entry.getDeclaredMethods()) {
+					List<MethodEntry> expected = entry.getDeclaredMethods().stream()
+							.filter(m -> m.getName().equals(method.getName()))
+							.toList();
+					assertEquals(expected, entry.getDeclaredMethodsByName(method.getName()));
+					assertSame(method, entry.getDeclaredMethod(method.getName(), method.getDescriptor()));
+					assertNull(entry.getDeclaredMethod(method.getName(), method.getDescriptor(), m -> false));
+				}
+				for (FieldEntry field : entry.getDeclaredFields()) {
+					List<FieldEntry> expected = entry.getDeclaredFields().stream()
+							.filter(f -> f.getName().equals(field.getName()))
+							.toList();
+					assertEquals(expected, entry.getDeclaredFieldsByName(field.getName()));
+					assertSame(field, entry.getDeclaredField(field.getName(), field.getDescriptor()));
+				}
+			}
+		}
+
+		// Missing members should yield empty results, which cannot be modified by callers.
+		ClassEntry string = pool.getClass("java/lang/String");
+		assertTrue(string.getDeclaredMethodsByName("missing").isEmpty());
+		assertNull(string.getDeclaredMethod("length", "()J"));
+		assertNull(string.getDeclaredField("missing", "I"));
+		assertThrows(UnsupportedOperationException.class, () -> string.getDeclaredMethodsByName("length").clear());
+	}
+
+	@ParameterizedTest
+	@ValueSource(classes = {BasicEntryPool.class, ConcurrentEntryPool.class})
+	void testPackageLookups(Class<? extends EntryPool> poolType) throws ReflectiveOperationException {
+		EntryPool pool = poolType.getConstructor().newInstance();
+		ClassEntry first = newClass("com/example/Foo");
+		ClassEntry second = newClass("com/example/Foo");
+		pool.register(first);
+		pool.register(newClass("com/example/Bar"));
+		pool.register(newClass("com/example/sub/Baz"));
+		pool.register(newClass("com/examples/Qux"));
+		pool.register(newClass("Default"));
+		assertEquals(Set.of("com/example/Foo", "com/example/Bar"), names(pool.getClassesInPackage("com/example")));
+		assertEquals(Set.of("com/example/sub/Baz"), names(pool.getClassesInPackage("com/example/sub")));
+		assertEquals(Set.of("Default"), names(pool.getClassesInPackage(null)));
+		assertTrue(pool.getClassesInPackage("com").isEmpty());
+
+		// Re-registering a class should replace the prior entry.
+		pool.register(second);
+		List<ClassEntry> entries = pool.getClassesInPackage("com/example");
+		assertEquals(2, entries.size());
+		assertTrue(entries.stream().anyMatch(e -> e == second));
+		assertTrue(entries.stream().noneMatch(e -> e == first));
+	}
+
+	@Test
+	void testConcurrentRegistration() throws InterruptedException {
+		List<ClassEntry> entries = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++)
+			entries.add(newClass("com/example/p" + (i % 50) + "/C" + i));
+
+		// Query the pool while it is being populated from multiple threads.
+		// Names are unique and classes are published by name before being listed in their package,
+		// so anything listed must already be found by name.
+		EntryPool pool = new ConcurrentEntryPool();
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> readerError = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get())
+					for (ClassEntry entry : pool.getClassesInPackage("com/example/p7"))
+						assertSame(entry, pool.getClass(entry.getName()));
+			} catch (Throwable t) {
+				readerError.set(t);
+			}
+		});
+		reader.start();
+		pool.registerAll(entries.subList(0, 10_000));
+		entries.subList(10_000, entries.size()).parallelStream().forEach(pool::register);
+		done.set(true);
+		reader.join();
+		assertNull(readerError.get());
+
+		for (ClassEntry entry : entries)
+			assertSame(entry, pool.getClass(entry.getName()));
+		for (int i = 0; i < 50; i++)
+			assertEquals(400, pool.getClassesInPackage("com/example/p" + i).size());
+	}
+
+	@Test
+	void testLazyEntriesMatchEagerEntries() {
+		ConcurrentEntryPool lazyPool = new ConcurrentEntryPool();
+		ClassLoader loader = EntryTests.class.getClassLoader();
+		LazyClassEntry lazyList = (LazyClassEntry) ReflectiveClassEntry.lazy(lazyPool, loader, "java/util/ArrayList");
+		assertSame(lazyList, ReflectiveClassEntry.lazy(lazyPool, loader, "java/util/ArrayList"));
+		assertSame(lazyList, lazyPool.getClass("java/util/ArrayList"));
+		assertFalse(lazyList.isLoaded());
+
+		// Loading one class should only register placeholders for the classes it refers to.
+		ClassEntry eagerList = ReflectiveClassEntry.build(new SymbolTable(), new HashMap<>(), ArrayList.class);
+		assertEquals(eagerList.getAccess(), lazyList.getAccess());
+		assertTrue(lazyList.isLoaded());
+		LazyClassEntry lazyParent = (LazyClassEntry) lazyList.getSuperEntry();
+		assertNotNull(lazyParent);
+		assertFalse(lazyParent.isLoaded());
+
+		// Walking the hierarchy loads entries as it goes, and they should match the eagerly built entries.
+		List<ClassEntry> eagerHierarchy = new ArrayList<>();
+		List<ClassEntry> lazyHierarchy = new ArrayList<>();
+		eagerList.visitHierarchy(eagerHierarchy::add);
+		lazyList.visitHierarchy(lazyHierarchy::add);
+		assertEquals(eagerHierarchy.size(), lazyHierarchy.size());
+		for (int i = 0; i < eagerHierarchy.size(); i++) {
+			ClassEntry eager = eagerHierarchy.get(i);
+			ClassEntry lazy = lazyHierarchy.get(i);
+			assertEquals(eager.getName(), lazy.getName());
+			assertEquals(eager.getAccess(), lazy.getAccess());
+			assertEquals(eager.getDeclaredFields(), lazy.getDeclaredFields());
+			assertEquals(eager.getDeclaredMethods(), lazy.getDeclaredMethods());
+			assertEquals(names(eager.getInnerClassEntries()), names(lazy.getInnerClassEntries()));
+		}
+
+		// Missing classes can be registered, but should fail once their contents are needed.
+		ClassEntry missing = ReflectiveClassEntry.lazy(lazyPool, loader, "com/example/Missing");
+		assertEquals("com/example/Missing", missing.getName());
+		assertThrows(IllegalStateException.class, missing::getDeclaredMethods);
+
+		// Comparing placeholders should not load them.
+		LazyClassEntry otherMissing = new LazyClassEntry("com/example/Missing", () -> null);
+		assertEquals(missing, otherMissing);
+		assertEquals(missing.hashCode(), otherMissing.hashCode());
+		assertFalse(otherMissing.isLoaded());
+		assertNotEquals(missing, new LazyClassEntry("com/example/Other", () -> null));
+
+		// Equality should not change once one side is loaded.
+		ClassEntry otherList = ReflectiveClassEntry.lazy(new ConcurrentEntryPool(), loader, "java/util/ArrayList");
+		assertEquals(lazyList, otherList);
+		otherList.getAccess();
+		assertEquals(lazyList, otherList);
+		assertEquals(otherList, lazyList);
+	}
+
+	@Test
+	void testConcurrentLazyRegistration() {
+		// Placeholders are requested and loaded from many threads at once.
+		// Each class should only ever have a single placeholder in the pool.
+		ConcurrentEntryPool lazyPool = new ConcurrentEntryPool();
+		ClassLoader loader = EntryTests.class.getClassLoader();
+		List<String> names = List.of("java/util/ArrayList", "java/util/LinkedList", "java/util/HashMap",
+				"java/util/TreeMap", "java/util/concurrent/ConcurrentHashMap", "java/lang/StringBuilder");
+		List<ClassEntry> entries = IntStream.range(0, 64).parallel()
+				.mapToObj(i -> {
+					ClassEntry entry = ReflectiveClassEntry.lazy(lazyPool, loader, names.get(i % names.size()));
+					entry.visitHierarchy(ClassEntry::getDeclaredMethods);
+					return entry;
+				}).toList();
+		for (ClassEntry entry : entries) {
+			assertSame(entry, lazyPool.getClass(entry.getName()));
+			entry.visitHierarchy(parent -> assertSame(parent, lazyPool.getClass(parent.getName())));
+		}
+	}
+
+	@Test
+	void testClassFileEntriesMatchReflection(@TempDir Path temp) throws IOException {
+		Map<String, ClassEntry> reflected = new HashMap<>();
+		SymbolTable reflectedSymbols = new SymbolTable();
+		List<String> classNames = new ArrayList<>();
+
+		// Read the JDK's base module.
+		EntryPool filePool = new BasicEntryPool();
+		ClassFileEntryReader reader = new ClassFileEntryReader(filePool);
+		Path jmod = Paths.get(System.getProperty("java.home"), "jmods", "java.base.jmod");
+		assumeTrue(Files.isRegularFile(jmod), "JDK does not ship jmods");
+		List<String> failed = new CopyOnWriteArrayList<>();
+		assertTrue(reader.readJmod(jmod, (name, error) -> failed.add(name)) > 1000);
+		assertEquals(List.of(), failed);
+		for (Class<?> cls : List.of(Object.class, String.class, ArrayList.class, HashMap.class, Map.class,
+				Map.Entry.class, Thread.State.class, Override.class, Modifier.class)) {
+			ReflectiveClassEntry.build(reflectedSymbols, reflected, cls);
+			classNames.add(cls.getName().replace('.', '/'));
+		}
+
+		// Read the compiled test-fixtures, both from a directory and from a jar.
+		Path fixtures = Paths.get("target/test-classes/sample");
+		Path jar = temp.resolve("fixtures.jar");
+		try (Stream<Path> paths = Files.list(fixtures);
+		     JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			for (Path path : paths.toList()) {
+				out.putNextEntry(new JarEntry("sample/" + path.getFileName()));
+				out.write(Files.readAllBytes(path));
+				out.closeEntry();
+			}
+		}
+		EntryPool jarPool = new BasicEntryPool();
+		new ClassFileEntryReader(jarPool).readJar(jar, null);
+		reader.readDirectory(fixtures, null);
+		for (String fixture : List.of("AFooServiceImplementation", "AFooServiceImplementation$Bar", "InstanceOf",
+				"InstanceOf$Point2", "CharSeqMappers", "ExampleFixedList")) {
+			String className = "sample/" + fixture;
+			try {
+				ReflectiveClassEntry.build(reflectedSymbols, reflected, Class.forName(className.replace('/', '.')));
+			} catch (ClassNotFoundException ex) {
+				fail(ex);
+			}
+			assertNotNull(jarPool.getClass(className));
+			classNames.add(className);
+		}
+
+		for (String className : classNames) {
+			ClassEntry expected = reflected.get(className);
+			ClassEntry actual = filePool.getClass(className);
+			assertNotNull(actual, className);
+			assertEquals(expected.getAccess(), actual.getAccess(), className);
+			assertEquals(name(expected.getSuperEntry()), name(actual.getSuperEntry()), className);
+			assertEquals(name(expected.getOuterClass()), name(actual.getOuterClass()), className);
+			assertEquals(names(expected.getImplementedEntries()), names(actual.getImplementedEntries()), className);
+			assertEquals(names(expected.getInnerClassEntries()), names(actual.getInnerClassEntries()), className);
+			assertEquals(Set.copyOf(expected.getDeclaredFields()), Set.copyOf(actual.getDeclaredFields()), className);
+
+			// Reflection does not expose static initializers.
+			assertEquals(Set.copyOf(expected.getDeclaredMethods()), actual.getDeclaredMethods().stream()
+					.filter(m -> !m.getName().equals("<clinit>"))
+					.collect(Collectors.toSet()), className);
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> reader.read(new byte[]{1, 2, 3}));
+		assertThrows(IllegalArgumentException.class, () -> reader.read(Arrays.copyOf(Files.readAllBytes(fixtures.resolve("InstanceOf.class")), 100)));
+	}
+
+	@Test
+	void testMappedSnapshotMatchesSource(@TempDir Path temp) throws IOException {
+		List<String> packageNames = List.of("java/lang", "java/util", "sample");
+		List<ClassEntry> entries = new ArrayList<>();
+		for (String packageName : packageNames)
+			entries.addAll(pool.getClassesInPackage(packageName));
+		entries.addAll(pool.getClassesInPackage(null));
+		Path snapshot = temp.resolve("pool.bin");
+		MappedEntryPool.write(snapshot, entries);
+
+		MappedEntryPool mappedPool = MappedEntryPool.open(snapshot);
+		for (ClassEntry expected : entries) {
+			ClassEntry actual = mappedPool.getClass(expected.getName());
+			assertNotNull(actual, expected.getName());
+			assertSame(actual, mappedPool.getClass(expected.getName()));
+			assertEquals(expected.getAccess(), actual.getAccess());
+			assertEquals(expected.getDeclaredFields(), actual.getDeclaredFields());
+			assertEquals(expected.getDeclaredMethods(), actual.getDeclaredMethods());
+
+			// Only references to classes in the snapshot are recorded.
+			ClassEntry expectedSuper = expected.getSuperEntry();
+			if (expectedSuper != null && mappedPool.getClass(expectedSuper.getName()) != null)
+				assertSame(mappedPool.getClass(expectedSuper.getName()), actual.getSuperEntry());
+			else
+				assertNull(actual.getSuperEntry());
+			assertEquals(names(expected.getImplementedEntries()).stream()
+					.filter(name -> mappedPool.getClass(name) != null)
+					.collect(Collectors.toSet()), names(actual.getImplementedEntries()));
+		}
+		for (String packageName : packageNames)
+			assertEquals(names(pool.getClassesInPackage(packageName)), names(mappedPool.getClassesInPackage(packageName)));
+		assertEquals(names(pool.getClassesInPackage(null)), names(mappedPool.getClassesInPackage(null)));
+		assertTrue(mappedPool.getClassesInPackage("java/io").isEmpty());
+		assertNull(mappedPool.getClass("java/io/File"));
+
+		// Registered classes are held alongside the snapshot, taking precedence over snapshot classes of the same name.
+		ClassEntry replacement = newClass("sample/Box");
+		mappedPool.register(replacement);
+		mappedPool.register(newClass("java/io/File"));
+		assertSame(replacement, mappedPool.getClass("sample/Box"));
+		assertNotNull(mappedPool.getClass("java/io/File"));
+		assertEquals(names(pool.getClassesInPackage("sample")), names(mappedPool.getClassesInPackage("sample")));
+		assertEquals(1, mappedPool.getClassesInPackage("sample").stream().filter(e -> e.getName().equals("sample/Box")).count());
+
+		// References from snapshot classes decoded after registration should also point to the registered classes.
+		MappedEntryPool overlaidPool = MappedEntryPool.open(snapshot);
+		ClassEntry shape = newClass("sample/Shape");
+		overlaidPool.register(shape);
+		assertSame(shape, overlaidPool.getClass("sample/Circle").getImplementedEntries().getFirst());
+		assertSame(overlaidPool.getClass("java/lang/Object"), overlaidPool.getClass("sample/Circle").getSuperEntry());
+
+		// Not a snapshot file.
+		Path bogus = temp.resolve("bogus.bin");
+		Files.write(bogus, new byte[64]);
+		assertThrows(IOException.class, () -> MappedEntryPool.open(bogus));
+	}
+
+	@Test
+	void testSymbolTable() {
+		SymbolTable symbols = new SymbolTable();
+		MethodDescriptor descriptor = symbols.getMethodDescriptor("(I[[JLjava/lang/String;[Ljava/lang/Object;)V");
+		assertEquals(List.of("I", "[[J", "Ljava/lang/String;", "[Ljava/lang/Object;"), descriptor.parameterDescriptors());
+		assertEquals("V", descriptor.returnDescriptor());
+		assertEquals(List.of(), symbols.getMethodDescriptor("()[Ljava/lang/String;").parameterDescriptors());
+		assertEquals("[Ljava/lang/String;", symbols.getMethodDescriptor("()[Ljava/lang/String;").returnDescriptor());
+
+		// Entries should share names and parsed descriptors.
+		MethodEntry first = symbols.newMethod(new String("run"), new String("(Ljava/lang/String;)V"), 0);
+		MethodEntry second = symbols.newMethod(new String("run"), new String("(Ljava/lang/String;)V"), 0);
+		FieldEntry field = symbols.newField(new String("value"), new String("Ljava/lang/String;"), 0);
+		assertSame(first.getName(), second.getName());
+		assertSame(first.getDescriptor(), second.getDescriptor());
+		assertSame(first.getParameterDescriptors(), second.getParameterDescriptors());
+		assertSame(field.getDescriptor(), first.getParameterDescriptors().getFirst());
+
+		// Entries not created through a table should parse descriptors the same way.
+		MethodEntry basic = new BasicMethodEntry("run", "(I[[JLjava/lang/String;[Ljava/lang/Object;)V", 0);
+		assertEquals(descriptor.parameterDescriptors(), basic.getParameterDescriptors());
+		assertEquals(descriptor.returnDescriptor(), basic.getReturnDescriptor());
+
+		// Pools have their own tables, the shared table is only used when asked for.
+		assertNotSame(SymbolTable.getShared(), new BasicEntryPool().getSymbolTable());
+		assertNotSame(new ConcurrentEntryPool().getSymbolTable(), new ConcurrentEntryPool().getSymbolTable());
+		ClassEntry sharedList = ReflectiveClassEntry.build(SymbolTable.getShared(), new HashMap<>(), ArrayList.class);
+		ClassEntry otherSharedList = ReflectiveClassEntry.build(SymbolTable.getShared(), new HashMap<>(), ArrayList.class);
+		assertSame(sharedList.getName(), otherSharedList.getName());
+	}
+
+	@Test
+	void testAssignabilityMatchesHierarchyWalk() {
+		List<ClassEntry> entries = new ArrayList<>();
+		for (String name : List.of("java/lang/Object", "java/lang/String", "java/lang/StringBuilder", "java/lang/CharSequence",
+				"java/lang/Comparable", "java/lang/Integer", "java/lang/Number", "java/util/ArrayList", "java/util/List",
+				"java/util/Collection", "java/util/LinkedList", "java/util/Deque", "java/util/HashMap", "java/util/Map",
+				"java/util/RandomAccess", "java/io/Serializable", "sample/AFooServiceImplementation", "sample/AbstractFooService"))
+			entries.add(Objects.requireNonNull(pool.getClass(name), name));
+		for (ClassEntry parent : entries) {
+			for (ClassEntry child : entries) {
+				boolean expected = parent.getName().equals("java/lang/Object") || isInHierarchy(parent.getName(), child);
+				assertEquals(expected, parent.isAssignableFrom(child), parent + " <- " + child);
+				assertEquals(isInHierarchy(parent.getName(), child), child.extendsOrImplementsName(parent.getName()));
+
+				// Common parents should be consistent across repeated lookups.
+				ClassEntry common = parent.getCommonParent(child);
+				assertTrue(common.isAssignableFrom(parent) && common.isAssignableFrom(child));
+				assertSame(common, parent.getCommonParent(child));
+				assertSame(pool.getClass(common.getName()), common);
+			}
+		}
+		assertEquals("java/util/AbstractList", pool.getClass("java/util/ArrayList")
+				.getCommonParent(pool.getClass("java/util/LinkedList")).getName());
+
+		// When the other class is the common parent, it should be yielded as-is, even if it is only a view of a class.
+		ClassEntry arrayList = pool.getClass("java/util/ArrayList");
+		ClassEntry list = pool.getClass("java/util/List");
+		assertSame(list.getStaticView(), arrayList.getCommonParent(list.getStaticView()));
+		assertSame(list, arrayList.getCommonParent(list));
+	}
+
+	@Test
+	void testHierarchyTablesMatchHierarchyWalk() {
+		for (String name : List.of("java/util/ArrayList", "java/util/LinkedList", "java/lang/StringBuilder",
+				"java/util/concurrent/ConcurrentHashMap", "javax/swing/JButton", "sample/AFooServiceImplementation")) {
+			ClassEntry entry = Objects.requireNonNull(pool.getClass(name), name);
+
+			// Should match a depth-first walk, with each class only being included once.
+			Map<String, ClassEntry> walked = new LinkedHashMap<>();
+			walk(entry, walked);
+			assertEquals(List.copyOf(walked.values()), entry.getLinearizedHierarchy());
+			List<ClassEntry> visited = new ArrayList<>();
+			entry.visitHierarchy(visited::add);
+			assertEquals(entry.getLinearizedHierarchy(), visited);
+
+			for (ClassEntry owner : entry.getLinearizedHierarchy()) {
+				for (MethodEntry method : owner.getDeclaredMethods()) {
+					assertSame(findMethod(entry, method.getName(), method.getDescriptor(), null),
+							entry.getMethod(method.getName(), method.getDescriptor()));
+					List<ClassMemberPair> expected = new ArrayList<>();
+					for (ClassEntry c : entry.getLinearizedHierarchy())
+						for (MethodEntry m : c.getDeclaredMethodsByName(method.getName()))
+							if (c == entry || !m.isPrivate())
+								expected.add(new ClassMemberPair(c, m));
+					assertEquals(expected, entry.getVisibleMethodsByName(method.getName()));
+				}
+				for (FieldEntry field : owner.getDeclaredFields())
+					assertSame(findField(entry, field.getName(), field.getDescriptor(), null),
+							entry.getField(field.getName(), field.getDescriptor()));
+			}
+			assertNull(entry.getMethod("missing", "()V"));
+			assertTrue(entry.getVisibleFieldsByName("missing").isEmpty());
+		}
+	}
+
+	@Test
+	void testStaticViews() {
+		ClassEntry entry = Objects.requireNonNull(pool.getClass("java/util/concurrent/ConcurrentHashMap"));
+		ClassEntry view = entry.getStaticView();
+		assertSame(view, entry.getStaticView());
+		assertSame(view, view.getStaticView());
+		assertEquals(entry.getName(), view.getName());
+
+		// Parents should be viewed through their own cached views.
+		assertSame(Objects.requireNonNull(entry.getSuperEntry()).getStaticView(), view.getSuperEntry());
+		assertSame(view.getImplementedEntries(), view.getImplementedEntries());
+		for (int i = 0; i < entry.getImplementedEntries().size(); i++)
+			assertSame(entry.getImplementedEntries().get(i).getStaticView(), view.getImplementedEntries().get(i));
+		for (ClassEntry parent : view.getLinearizedHierarchy())
+			assertSame(parent, parent.getStaticView());
+
+		// Only static members should be visible.
+		assertEquals(entry.getDeclaredMethods().stream().filter(MethodEntry::isStatic).toList(), view.getDeclaredMethods());
+		assertEquals(entry.getDeclaredFields().stream().filter(FieldEntry::isStatic).toList(), view.getDeclaredFields());
+		assertNotNull(view.getMethod("newKeySet", "()Ljava/util/concurrent/ConcurrentHashMap$KeySetView;"));
+		assertNull(view.getMethod("size", "()I"));
+		assertNotNull(entry.getMethod("size", "()I"));
+		for (ClassMemberPair pair : view.getVisibleMethodsByName("hashCode"))
+			assertTrue(pair.memberEntry().isStatic());
+		assertTrue(view.isAssignableFrom(entry) && entry.isAssignableFrom(view));
+	}
+
+	private static void walk(ClassEntry entry, Map<String, ClassEntry> walked) {
+		if (walked.putIfAbsent(entry.getName(), entry) != null)
+			return;
+		if (entry.getSuperEntry() != null)
+			walk(entry.getSuperEntry(), walked);
+		for (ClassEntry implemented : entry.getImplementedEntries())
+			walk(implemented, walked);
+	}
+
+	private static MethodEntry findMethod(ClassEntry entry, String name, String desc, Predicate<MethodEntry> filter) {
+		for (MethodEntry method : entry.getDeclaredMethods())
+			if (method.getName().equals(name) && method.getDescriptor().equals(desc) && (filter == null || filter.test(method)))
+				return method;
+		if (entry.getSuperEntry() != null) {
+			MethodEntry method = findMethod(entry.getSuperEntry(), name, desc, m -> !m.isPrivate());
+			if (method != null)
+				return method;
+		}
+		for (ClassEntry implemented : entry.getImplementedEntries()) {
+			MethodEntry method = findMethod(implemented, name, desc, m -> !m.isPrivate());
+			if (method != null)
+				return method;
+		}
+		return null;
+	}
+
+	private static FieldEntry findField(ClassEntry entry, String name, String desc, Predicate<FieldEntry> filter) {
+		for (FieldEntry field : entry.getDeclaredFields())
+			if (field.getName().equals(name) && field.getDescriptor().equals(desc) && (filter == null || filter.test(field)))
+				return field;
+		if (entry.getSuperEntry() != null) {
+			FieldEntry field = findField(entry.getSuperEntry(), name, desc, f -> !f.isPrivate());
+			if (field != null)
+				return field;
+		}
+		for (ClassEntry implemented : entry.getImplementedEntries()) {
+			FieldEntry field = findField(implemented, name, desc, f -> !f.isPrivate());
+			if (field != null)
+				return field;
+		}
+		return null;
+	}
+
+	private static boolean isInHierarchy(String name, ClassEntry entry) {
+		if (entry.getName().equals(name))
+			return true;
+		if (entry.getSuperEntry() != null && isInHierarchy(name, entry.getSuperEntry()))
+			return true;
+		for (ClassEntry implemented : entry.getImplementedEntries())
+			if (isInHierarchy(name, implemented))
+				return true;
+		return false;
+	}
+
+	private static String name(ClassEntry entry) {
+		return entry == null ? null : entry.getName();
+	}
+
+	private static ClassEntry newClass(String name) {
+		return new BasicClassEntry(name, Modifier.PUBLIC, pool.getClass("java/lang/Object"),
+				List.of(), List.of(), null, List.of(), List.of());
+	}
+
+	private static Set<String> names(List<ClassEntry> entries) {
+		return entries.stream().map(ClassEntry::getName).collect(Collectors.toSet());
+	}
+}
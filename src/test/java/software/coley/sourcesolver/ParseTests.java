@@ -0,0 +1,458 @@
+package software.coley.sourcesolver;
+
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.tools.javac.tree.EndPosTable;
+import org.junit.jupiter.api.Test;
+import software.coley.sourcesolver.mapping.ExpressionMapper;
+import software.coley.sourcesolver.mapping.LiteralMapper;
+import software.coley.sourcesolver.mapping.MappingContext;
+import software.coley.sourcesolver.mapping.MethodInvocationMapper;
+import software.coley.sourcesolver.mapping.StatementMapper;
+import software.coley.sourcesolver.model.AbstractExpressionModel;
+import software.coley.sourcesolver.model.AbstractStatementModel;
+import software.coley.sourcesolver.model.ClassModel;
+import software.coley.sourcesolver.model.CompactModelTree;
+import software.coley.sourcesolver.model.CompilationUnitModel;
+import software.coley.sourcesolver.model.LiteralExpressionModel;
+import software.coley.sourcesolver.model.MethodBodyModel;
+import software.coley.sourcesolver.model.MethodModel;
+import software.coley.sourcesolver.model.Model;
+import software.coley.sourcesolver.util.TextEdit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ParseTests {
+	private static final List<String> sources = readFixtures();
+
+	@Test
+	void testParserPoolMatchesSerialParsing() {
+		Parser parser = new Parser();
+		List<CompilationUnitModel> expected = sources.stream().map(parser::parse).toList();
+
+		// Parse every fixture many times over from the common pool's threads.
+		ParserPool pool = new ParserPool();
+		for (int i = 0; i < 10; i++) {
+			List<CompilationUnitModel> actual = sources.parallelStream().map(pool::parse).toList();
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void testParseAll() {
+		Map<String, String> inputs = new LinkedHashMap<>();
+		for (int i = 0; i < sources.size(); i++)
+			inputs.put("unit" + i, sources.get(i));
+		inputs.put("null", null);
+
+		List<String> failed = new CopyOnWriteArrayList<>();
+		Map<String, CompilationUnitModel> units;
+		try (ParserPool pool = new ParserPool()) {
+			units = pool.parseAll(inputs, 2, (name, error) -> failed.add(name));
+		}
+
+		// All units but the bogus one should be parsed, in the same order as the inputs.
+		assertEquals(List.of("null"), failed);
+		assertEquals(sources.size(), units.size());
+		Parser parser = new Parser();
+		int i = 0;
+		for (Map.Entry<String, CompilationUnitModel> entry : units.entrySet()) {
+			assertEquals("unit" + i, entry.getKey());
+			assertEquals(parser.parse(sources.get(i)), entry.getValue());
+			i++;
+		}
+	}
+
+	@Test
+	void testParseAllReusesParsers() {
+		Map<String, String> inputs = new LinkedHashMap<>();
+		for (int i = 0; i < sources.size(); i++)
+			inputs.put("unit" + i, sources.get(i));
+
+		// Workers, and thus their parsers, should outlive each batch.
+		// The calling thread may also help run a batch, and get a parser of its own.
+		AtomicInteger created = new AtomicInteger();
+		try (ParserPool pool = new ParserPool(() -> {
+			created.incrementAndGet();
+			return new Parser();
+		})) {
+			for (int i = 0; i < 5; i++)
+				assertEquals(sources.size(), pool.parseAll(inputs, 2, null).size());
+		}
+		assertTrue(created.get() <= 3, "Parsers created: " + created.get());
+	}
+
+	@Test
+	void testReparseMatchesFullParse() {
+		Parser parser = new Parser();
+		for (String source : sources) {
+			// Insert a statement at the start of every method body.
+			CompilationUnitModel unit = parser.parse(source);
+			for (MethodModel method : unit.getRecursiveChildrenOfType(MethodModel.class)) {
+				MethodBodyModel body = method.getMethodBody();
+				if (body == null)
+					continue;
+				TextEdit edit = TextEdit.insert(body.getRange().begin() + 1, " int inserted = 1 + 2; ");
+				CompilationUnitModel previous = parser.parse(source);
+				CompilationUnitModel reparsed = parser.reparse(previous, edit);
+				assertSameTree(parser.parse(edit.apply(source)), reparsed);
+
+				// Models outside the edited method should be carried over, if the method is declared directly in a class.
+				// Methods of anonymous/local classes are handled by full re-parsing.
+				Model parent = method.getParent();
+				while (parent instanceof ClassModel)
+					parent = parent.getParent();
+				if (parent instanceof CompilationUnitModel)
+					assertSame(previous.getPackage(), reparsed.getPackage());
+			}
+
+			// Edits which are not contained in a method body, or which break the body, should still be handled.
+			int classBodyEnd = source.lastIndexOf('}');
+			TextEdit fieldInsert = TextEdit.insert(classBodyEnd, "int inserted;");
+			assertSameTree(parser.parse(fieldInsert.apply(source)), parser.reparse(parser.parse(source), fieldInsert));
+			for (MethodModel method : unit.getRecursiveChildrenOfType(MethodModel.class)) {
+				MethodBodyModel body = method.getMethodBody();
+				if (body == null || body.getRange().end() - body.getRange().begin() < 4)
+					continue;
+				TextEdit braceInsert = TextEdit.insert(body.getRange().begin() + 1, "} void inserted() {");
+				assertSameTree(parser.parse(braceInsert.apply(source)), parser.reparse(parser.parse(source), braceInsert));
+				TextEdit delete = TextEdit.delete(body.getRange().begin() + 1, body.getRange().end() - 1);
+				assertSameTree(parser.parse(delete.apply(source)), parser.reparse(parser.parse(source), delete));
+			}
+		}
+	}
+
+	@Test
+	void testReparseShiftsModelsOutsideChildren() {
+		// Some models hold onto models which are not their children, which must be shifted too.
+		Parser parser = new Parser();
+		String source = """
+				class Outer {
+					void edited() {
+						int value = 0;
+					}
+					void loops(Object lock, Object o) {
+						for (int i = 0, j = 1; i < j; i++, j--) {}
+						synchronized (lock) { lock.notify(); }
+						switch (o) {
+							case String s when s.isEmpty() -> {}
+							default -> {}
+						}
+					}
+					private static final class Inner {}
+				}
+				""";
+		TextEdit edit = TextEdit.insert(source.indexOf("int value"), "int inserted = 1; ");
+		assertSameTree(parser.parse(edit.apply(source)), parser.reparse(parser.parse(source), edit));
+	}
+
+	@Test
+	void testChildAtPositionMatchesLinearScan() {
+		Parser parser = new Parser();
+		for (String source : sources) {
+			CompilationUnitModel unit = parser.parse(source);
+			unit.visit(model -> {
+				for (int i = -1; i <= source.length() + 1; i++) {
+					Model expected = null;
+					for (Model child : model.getChildren()) {
+						if (child.getRange().isWithin(i)) {
+							expected = child;
+							break;
+						}
+					}
+					assertSame(expected, model.getChildAtPosition(i));
+				}
+				return true;
+			});
+		}
+	}
+
+	@Test
+	void testLazyMethodBodies() {
+		Parser parser = new Parser();
+		Parser lazyParser = new Parser();
+		lazyParser.setLazyMethodBodies(true);
+		for (String source : sources) {
+			// Bodies should not be mapped until something asks for their contents.
+			CompilationUnitModel unit = lazyParser.parse(source);
+			List<MethodBodyModel> bodies = getMethodBodies(unit);
+			for (MethodBodyModel body : bodies)
+				assertFalse(body.isMaterialized());
+
+			// Once mapped, the bodies should be the same as if they were mapped up-front.
+			assertSameTree(parser.parse(source), unit);
+			for (MethodBodyModel body : bodies)
+				assertTrue(body.isMaterialized());
+
+			// Re-parsing carries over unmapped bodies without mapping them.
+			// Once mapped, their statements must be shifted the same as if they were mapped before the edit.
+			for (MethodBodyModel body : bodies) {
+				TextEdit edit = TextEdit.insert(body.getRange().begin() + 1, " int inserted = 1 + 2; ");
+				CompilationUnitModel reparsed = lazyParser.reparse(lazyParser.parse(source), edit);
+				assertTrue(getMethodBodies(reparsed).stream()
+						.filter(b -> !b.getRange().isWithin(edit.begin()))
+						.noneMatch(MethodBodyModel::isMaterialized));
+				assertSameTree(parser.parse(edit.apply(source)), reparsed);
+			}
+		}
+	}
+
+	@Test
+	void testSignatureOnly() {
+		Parser parser = new Parser();
+		Parser signatureParser = new Parser();
+		signatureParser.setSignatureOnly(true);
+		for (String source : sources) {
+			CompilationUnitModel expectedUnit = parser.parse(source);
+			CompilationUnitModel actualUnit = signatureParser.parse(source);
+			assertEquals(expectedUnit.getRange(), actualUnit.getRange());
+			assertEquals(expectedUnit.getPackage(), actualUnit.getPackage());
+			assertEquals(expectedUnit.getImports(), actualUnit.getImports());
+
+			// Declarations should be the same, and method bodies should keep their ranges.
+			// Methods of anonymous classes in field values are skipped too, so fields are only compared by range.
+			List<ClassModel> expectedClasses = new ArrayList<>(expectedUnit.getDeclaredClasses());
+			List<ClassModel> actualClasses = new ArrayList<>(actualUnit.getDeclaredClasses());
+			while (!expectedClasses.isEmpty()) {
+				ClassModel expected = expectedClasses.removeLast();
+				ClassModel actual = actualClasses.removeLast();
+				assertEquals(expected.getRange(), actual.getRange());
+				assertEquals(expected.getName(), actual.getName());
+				assertEquals(expected.getFields().stream().map(Model::getRange).toList(),
+						actual.getFields().stream().map(Model::getRange).toList());
+				assertEquals(expected.getMethods().size(), actual.getMethods().size());
+				for (int i = 0; i < expected.getMethods().size(); i++) {
+					MethodModel expectedMethod = expected.getMethods().get(i);
+					MethodModel actualMethod = actual.getMethods().get(i);
+					assertEquals(expectedMethod.getRange(), actualMethod.getRange());
+					assertEquals(expectedMethod.getName(), actualMethod.getName());
+					assertEquals(expectedMethod.getParameters(), actualMethod.getParameters());
+					MethodBodyModel expectedBody = expectedMethod.getMethodBody();
+					MethodBodyModel actualBody = actualMethod.getMethodBody();
+					if (expectedBody == null) {
+						assertNull(actualBody);
+					} else if ("<clinit>".equals(expectedMethod.getName())) {
+						// Initializer blocks are not method declarations, so they are still parsed.
+						assertEquals(expectedBody, actualBody);
+					} else {
+						assertEquals(expectedBody.getRange(), actualBody.getRange());
+						assertTrue(actualBody.getStatements().isEmpty());
+					}
+				}
+				expectedClasses.addAll(expected.getInnerClasses());
+				actualClasses.addAll(actual.getInnerClasses());
+			}
+			assertTrue(actualClasses.isEmpty());
+		}
+	}
+
+	@Test
+	void testCompactModelTree() {
+		Parser parser = new Parser();
+		Parser lazyParser = new Parser();
+		lazyParser.setLazyMethodBodies(true);
+		for (String source : sources) {
+			CompilationUnitModel unit = parser.parse(source);
+			CompactModelTree tree = new CompactModelTree(unit, parser::parse);
+			assertSame(unit, tree.getUnit());
+
+			// The links in the tree should match the models.
+			for (int node = 0; node < tree.size(); node++) {
+				Model model = tree.getModel(node);
+				assertEquals(model.getClass(), tree.getKind(node));
+				assertEquals(model.getRange(), tree.getRange(node));
+				List<Model> children = new ArrayList<>();
+				for (int child = tree.getFirstChild(node); child != CompactModelTree.NO_NODE; child = tree.getNextSibling(child)) {
+					assertEquals(node, tree.getParent(child));
+					children.add(tree.getModel(child));
+				}
+				assertEquals(model.getChildren(), children);
+				assertEquals(children.size(), tree.getChildCount(node));
+			}
+
+			// Position lookups should match the models.
+			for (int i = -1; i <= source.length() + 1; i++) {
+				Model expected = unit;
+				Model child;
+				while ((child = expected.getChildAtPosition(i)) != null)
+					expected = child;
+				assertSame(expected, tree.getModel(tree.getDeepestNodeAtPosition(i)));
+			}
+
+			// Released models should be parsed again on demand.
+			Model classModel = unit.getDeclaredClasses().getFirst();
+			int classNode = tree.indexOf(classModel);
+			tree.releaseModels();
+			assertFalse(tree.isHoldingModels());
+			assertEquals(CompactModelTree.NO_NODE, tree.indexOf(classModel));
+			assertEquals(classModel, tree.getModel(classNode));
+			assertTrue(tree.isHoldingModels());
+			assertEquals(unit, tree.getUnit());
+
+			// Parsing again must yield the same structure, not just the same number of models.
+			CompactModelTree shiftedTree = new CompactModelTree(unit, s -> parser.parse(" " + s));
+			shiftedTree.releaseModels();
+			assertThrows(IllegalStateException.class, shiftedTree::getUnit);
+
+			// Building the tree should not map lazy bodies, nor should parsing the unit again.
+			CompilationUnitModel lazyUnit = lazyParser.parse(source);
+			CompactModelTree lazyTree = new CompactModelTree(lazyUnit, lazyParser::parse);
+			assertTrue(getMethodBodies(lazyUnit).stream().noneMatch(MethodBodyModel::isMaterialized));
+			lazyTree.releaseModels();
+			CompilationUnitModel reparsedLazyUnit = lazyTree.getUnit();
+			assertTrue(getMethodBodies(reparsedLazyUnit).stream().noneMatch(MethodBodyModel::isMaterialized));
+			assertEquals(unit, reparsedLazyUnit);
+		}
+	}
+
+	@Test
+	void testMappingContextOverrides() {
+		AtomicInteger literals = new AtomicInteger();
+		AtomicInteger intLiterals = new AtomicInteger();
+		AtomicInteger invocationSuppliers = new AtomicInteger();
+		Parser parser = new Parser();
+		Parser customParser = new Parser();
+		customParser.setMappingContextFactory((table, source) -> {
+			MappingContext context = new MappingContext(table, source);
+
+			// Replacing a mapper type should also replace it in the kind table.
+			context.setMapper(LiteralMapper.class, new LiteralMapper() {
+				@Override
+				public LiteralExpressionModel map(MappingContext context, EndPosTable table, LiteralTree tree) {
+					literals.incrementAndGet();
+					return super.map(context, table, tree);
+				}
+			});
+
+			// Overriding a single kind should take priority over the mapper type.
+			context.setKindMapper(Tree.Kind.INT_LITERAL, new LiteralMapper() {
+				@Override
+				public LiteralExpressionModel map(MappingContext context, EndPosTable table, LiteralTree tree) {
+					intLiterals.incrementAndGet();
+					return super.map(context, table, tree);
+				}
+			});
+
+			// Suppliers should be used for the kinds of their mapper type as well.
+			context.setMapperSupplier(MethodInvocationMapper.class, () -> {
+				invocationSuppliers.incrementAndGet();
+				return new MethodInvocationMapper();
+			});
+			return context;
+		});
+		for (String source : sources)
+			assertSameTree(parser.parse(source), customParser.parse(source));
+		assertTrue(literals.get() > 0);
+		assertTrue(intLiterals.get() > 0);
+		assertTrue(invocationSuppliers.get() > 0);
+	}
+
+	@Test
+	void testCustomExpressionAndStatementMappers() {
+		AtomicInteger literals = new AtomicInteger();
+		AtomicInteger variables = new AtomicInteger();
+		Parser parser = new Parser();
+		Parser customParser = new Parser();
+		customParser.setMappingContextFactory((table, source) -> {
+			MappingContext context = new MappingContext(table, source);
+
+			// Custom expression and statement mappers should see every tree, including kinds in the kind table.
+			context.setMapper(ExpressionMapper.class, new ExpressionMapper() {
+				@Override
+				public AbstractExpressionModel map(MappingContext context, EndPosTable table, ExpressionTree tree) {
+					if (tree instanceof LiteralTree)
+						literals.incrementAndGet();
+					return super.map(context, table, tree);
+				}
+			});
+			context.setMapper(StatementMapper.class, new StatementMapper() {
+				@Override
+				public AbstractStatementModel map(MappingContext context, EndPosTable table, StatementTree tree) {
+					if (tree instanceof VariableTree)
+						variables.incrementAndGet();
+					return super.map(context, table, tree);
+				}
+			});
+			return context;
+		});
+		int expectedLiterals = 0;
+		for (String source : sources) {
+			CompilationUnitModel unit = parser.parse(source);
+			expectedLiterals += unit.getRecursiveChildrenOfType(LiteralExpressionModel.class).size();
+			assertSameTree(unit, customParser.parse(source));
+		}
+		assertTrue(expectedLiterals > 0);
+		assertTrue(literals.get() >= expectedLiterals, "Literals seen: " + literals.get() + " of " + expectedLiterals);
+		assertTrue(variables.get() > 0);
+	}
+
+	private static List<MethodBodyModel> getMethodBodies(CompilationUnitModel unit) {
+		// Not walking the whole tree, as that would map lazy bodies.
+		List<MethodBodyModel> bodies = new ArrayList<>();
+		List<ClassModel> classes = new ArrayList<>(unit.getDeclaredClasses());
+		while (!classes.isEmpty()) {
+			ClassModel cls = classes.removeLast();
+			classes.addAll(cls.getInnerClasses());
+			for (MethodModel method : cls.getMethods())
+				if (method.getMethodBody() != null)
+					bodies.add(method.getMethodBody());
+		}
+		return bodies;
+	}
+
+	private static void assertSameTree(CompilationUnitModel expected, CompilationUnitModel actual) {
+		assertEquals(expected.getInputSource(), actual.getInputSource());
+		assertEquals(describeTree(expected), describeTree(actual));
+		assertEquals(expected, actual);
+	}
+
+	private static List<String> describeTree(Model root) {
+		List<String> lines = new ArrayList<>();
+		root.visit(model -> {
+			Model parent = model.getParent();
+			lines.add(model.getClass().getSimpleName() + model.getRange() + " in " + (parent == null ? null : parent.getRange()));
+			return true;
+		});
+		return lines;
+	}
+
+	private static List<String> readFixtures() {
+		Path root = Paths.get("src/testFixtures/java/");
+		try (Stream<Path> paths = Files.walk(root)) {
+			return paths.filter(p -> p.toString().endsWith(".java"))
+					.sorted()
+					.map(p -> {
+						try {
+							return Files.readString(p);
+						} catch (IOException ex) {
+							throw new IllegalStateException(ex);
+						}
+					})
+					.toList();
+		} catch (IOException ex) {
+			fail("Failed to read test-fixtures", ex);
+			throw new IllegalStateException();
+		}
+	}
+}
@@ -1,10 +1,19 @@
 package software.coley.sourcesolver;
 
+import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import software.coley.sourcesolver.mapping.ClassMapper;
+import software.coley.sourcesolver.mapping.Mapper;
+import software.coley.sourcesolver.mapping.MethodMapper;
 import software.coley.sourcesolver.model.CompilationUnitModel;
+import software.coley.sourcesolver.model.MemberSelectExpressionModel;
+import software.coley.sourcesolver.model.MethodInvocationExpressionModel;
+import software.coley.sourcesolver.model.Model;
+import software.coley.sourcesolver.model.NamedModel;
 import software.coley.sourcesolver.resolve.BasicResolver;
 import software.coley.sourcesolver.resolve.Resolver;
+import software.coley.sourcesolver.resolve.ResolverFactory;
 import software.coley.sourcesolver.resolve.entry.ClassEntry;
 import software.coley.sourcesolver.resolve.entry.ClassMemberPair;
 import software.coley.sourcesolver.resolve.entry.EntryPool;
@@ -24,9 +33,24 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 @SuppressWarnings("SameParameterValue")
@@ -325,6 +349,60 @@ public String toString() {
 				"sample/OuterClass$InnerClass", "toString", "()Ljava/lang/String;");
 	}
 
+	@Test
+	void testImportShadowing() {
+		String sourceCode = """
+				package sample;
+				
+				import java.awt.*;
+				import java.util.*;
+				import java.util.List;
+				
+				public class Shadowing {
+					Shape shape;
+					List list;
+					Map map;
+					String string;
+				}
+				""";
+		CompilationUnitModel model = parser.parse(sourceCode);
+		Resolver resolver = new BasicResolver(model, pool);
+
+		// Same package shadows wildcard imports
+		assertClassResolution(resolutionAtStart(resolver, sourceCode, "Shape shape"), "sample/Shape");
+
+		// Explicit imports shadow wildcard imports
+		assertClassResolution(resolutionAtStart(resolver, sourceCode, "List list"), "java/util/List");
+
+		// Wildcard and implicit imports fill in the rest
+		assertClassResolution(resolutionAtStart(resolver, sourceCode, "Map map"), "java/util/Map");
+		assertClassResolution(resolutionAtStart(resolver, sourceCode, "String string"), CLASS_STRING);
+	}
+
+	@Test
+	void testInnerClassOfRenamedOuterClass() {
+		// Simulate scenario where the outer class is declared under a different name than in the pool
+		String sourceCode = """
+				package sample;
+				
+				public class RenamedOuterClass {
+					InnerClass inner;
+				
+					class InnerClass {}
+				}
+				""";
+		CompilationUnitModel uninformedModel = parser.parse(sourceCode);
+		Resolver uninformedResolver = new BasicResolver(uninformedModel, pool);
+		assertTrue(resolutionAtStart(uninformedResolver, sourceCode, "InnerClass inner").isUnknown());
+
+		// Once informed of the outer class, inner classes should be found relative to it.
+		CompilationUnitModel model = parser.parse(sourceCode);
+		Resolver resolver = new BasicResolver(model, pool);
+		resolver.setDeclaredClass(model.getDeclaredClasses().getFirst(), pool.getClass("sample/OuterClass"));
+		assertClassResolution(resolutionAtStart(resolver, sourceCode, "InnerClass inner"),
+				"sample/OuterClass$InnerClass");
+	}
+
 	@Test
 	void testResolveMethodIfUnknownArgumentTypeCanBeInferred() {
 		// Simulate scenario where we call some method we know of, but the argument type is unknown.
@@ -669,6 +747,220 @@ private static void assertArrayResolution(Resolution resolution, int dimensions,
 		}
 	}
 
+	@Test
+	void testResolveAllMatchesIndividualResolution() {
+		for (String name : List.of(CLASS_CHAR_SEQ_MAPPER, CLASS_FIXED_DATA_LIST, CLASS_FIXED_DATA_PROCESSOR, CLASS_OPTION_PANES)) {
+			String sourceCode = readSrc(name);
+
+			// Resolve everything in one pass.
+			CompilationUnitModel bulkModel = parser.parse(sourceCode);
+			List<Model> bulkModels = new ArrayList<>();
+			List<Resolution> bulkResolutions = new ArrayList<>();
+			new BasicResolver(bulkModel, pool).resolveAll(bulkModel, (model, resolution) -> {
+				bulkModels.add(model);
+				bulkResolutions.add(resolution);
+			});
+			assertFalse(bulkModels.isEmpty());
+
+			// Resolve the same models in reverse order against a fresh copy of the unit,
+			// so that no work is shared in the same way as the bulk pass.
+			CompilationUnitModel model = parser.parse(sourceCode);
+			Resolver resolver = new BasicResolver(model, pool);
+			List<Model> models = new ArrayList<>();
+			Set<Model> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+			model.visit(m -> {
+				if (!visited.add(m))
+					return false;
+				if (m instanceof NamedModel || m instanceof MethodInvocationExpressionModel || m instanceof MemberSelectExpressionModel)
+					models.add(m);
+				return true;
+			});
+			assertEquals(bulkModels, models);
+			for (int i = models.size() - 1; i >= 0; i--) {
+				Model target = models.get(i);
+				assertEquals(bulkResolutions.get(i), resolver.resolveAt(target.getRange().begin(), target));
+			}
+		}
+	}
+
+	@Test
+	void testLazyPoolMatchesEagerPool() {
+		EntryPool lazyPool = Utils.getSharedLazyPool();
+		for (String name : List.of(CLASS_CHAR_SEQ_MAPPER, CLASS_FIXED_DATA_LIST, CLASS_FIXED_DATA_PROCESSOR, CLASS_OPTION_PANES)) {
+			String sourceCode = readSrc(name);
+
+			// Entries of the two pools are different types, so we compare resolutions by their names and descriptors.
+			List<String> eagerResolutions = new ArrayList<>();
+			CompilationUnitModel eagerModel = parser.parse(sourceCode);
+			new BasicResolver(eagerModel, pool).resolveAll(eagerModel, (model, resolution) -> eagerResolutions.add(resolution.toString()));
+
+			List<String> lazyResolutions = new ArrayList<>();
+			CompilationUnitModel lazyModel = parser.parse(sourceCode);
+			new BasicResolver(lazyModel, lazyPool).resolveAll(lazyModel, (model, resolution) -> lazyResolutions.add(resolution.toString()));
+			assertEquals(eagerResolutions, lazyResolutions);
+		}
+	}
+
+	@Test
+	void testFactoryResolversMatchStandaloneResolvers() {
+		ResolverFactory factory = new ResolverFactory(pool);
+		Map<String, ClassEntry> implicitImports = factory.getImplicitImportTable();
+		assertSame(pool.getClass(CLASS_STRING), implicitImports.get("String"));
+		for (String name : List.of(CLASS_CHAR_SEQ_MAPPER, CLASS_FIXED_DATA_LIST, CLASS_FIXED_DATA_PROCESSOR, CLASS_OPTION_PANES)) {
+			String sourceCode = readSrc(name);
+
+			List<Resolution> standaloneResolutions = new ArrayList<>();
+			CompilationUnitModel standaloneModel = parser.parse(sourceCode);
+			new BasicResolver(standaloneModel, pool).resolveAll(standaloneModel, (model, resolution) -> standaloneResolutions.add(resolution));
+
+			List<Resolution> factoryResolutions = new ArrayList<>();
+			CompilationUnitModel model = parser.parse(sourceCode);
+			factory.newResolver(model).resolveAll(model, (m, resolution) -> factoryResolutions.add(resolution));
+			assertEquals(standaloneResolutions, factoryResolutions);
+		}
+
+		// Tables should be shared between resolvers until invalidated.
+		assertSame(implicitImports, factory.getImplicitImportTable());
+		assertSame(factory.getPackageTable("sample"), factory.getPackageTable("sample"));
+		factory.invalidateAll();
+		assertNotSame(implicitImports, factory.getImplicitImportTable());
+		assertEquals(implicitImports, factory.getImplicitImportTable());
+	}
+
+	@Test
+	void testConcurrentResolversWithDifferentPools() throws Exception {
+		String sourceCode = """
+				package sample;
+				
+				public class Holder {
+					Box<String> box;
+				}
+				""";
+		CompilationUnitModel model = parser.parse(sourceCode);
+
+		// Same as the shared pool, but without the 'Box' class.
+		EntryPool filteredPool = new EntryPool() {
+			@Override
+			public void register(@Nonnull ClassEntry entry) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public ClassEntry getClass(@Nonnull String name) {
+				return name.equals("sample/Box") ? null : pool.getClass(name);
+			}
+
+			@Nonnull
+			@Override
+			public List<ClassEntry> getClassesInPackage(String packageName) {
+				return pool.getClassesInPackage(packageName).stream()
+						.filter(c -> !c.getName().equals("sample/Box"))
+						.toList();
+			}
+		};
+
+		// Resolve the same model against both pools at once. Each should only see the results of its own pool.
+		ExecutorService service = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				boolean filtered = i % 2 == 0;
+				futures.add(service.submit(() -> {
+					Resolver resolver = new BasicResolver(model, filtered ? filteredPool : pool);
+					Resolution resolution = resolutionAtStart(resolver, sourceCode, "Box<String>");
+					if (filtered)
+						assertTrue(resolution.isUnknown());
+					else
+						assertClassResolution(resolution, "sample/Box");
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get();
+		} finally {
+			service.shutdownNow();
+		}
+	}
+
+	@Test
+	void testInvalidation() {
+		String sourceCode = readSrc(CLASS_FIXED_DATA_LIST);
+		CompilationUnitModel model = parser.parse(sourceCode);
+		Resolver resolver = new BasicResolver(model, pool);
+
+		Resolution resolution = resolutionAtMiddle(resolver, sourceCode, "AbstractList<T>");
+		assertSame(resolution, resolutionAtMiddle(resolver, sourceCode, "AbstractList<T>"));
+
+		// Results should be re-computed after invalidation, but still be the same.
+		resolver.invalidate(model);
+		Resolution recomputed = resolutionAtMiddle(resolver, sourceCode, "AbstractList<T>");
+		assertNotSame(resolution, recomputed);
+		assertEquals(resolution, recomputed);
+		resolver.invalidateAll();
+		assertNotSame(recomputed, resolutionAtMiddle(resolver, sourceCode, "AbstractList<T>"));
+	}
+
+	@Test
+	void testMetrics() {
+		Map<Object, AtomicInteger> counts = new ConcurrentHashMap<>();
+		SolverMetrics metrics = new SolverMetrics() {
+			@Override
+			public void recordPhase(@Nonnull Phase phase, long nanos) {
+				counts.computeIfAbsent(phase, k -> new AtomicInteger()).incrementAndGet();
+			}
+
+			@Override
+			public void recordMapping(@Nonnull Class<? extends Mapper<?, ?>> mapperType) {
+				counts.computeIfAbsent(mapperType, k -> new AtomicInteger()).incrementAndGet();
+			}
+
+			@Override
+			public void recordResolution(@Nonnull Resolution resolution, long nanos) {
+				counts.computeIfAbsent("resolution", k -> new AtomicInteger()).incrementAndGet();
+			}
+
+			@Override
+			public void recordCacheHit() {
+				counts.computeIfAbsent("hit", k -> new AtomicInteger()).incrementAndGet();
+			}
+
+			@Override
+			public void recordCacheMiss() {
+				counts.computeIfAbsent("miss", k -> new AtomicInteger()).incrementAndGet();
+			}
+
+			@Override
+			public void recordPoolLookup(boolean found) {
+				counts.computeIfAbsent("lookup", k -> new AtomicInteger()).incrementAndGet();
+			}
+		};
+
+		String sourceCode = readSrc(CLASS_FIXED_DATA_PROCESSOR);
+		Parser meteredParser = new Parser();
+		meteredParser.setMetrics(metrics);
+		CompilationUnitModel model = meteredParser.parse(sourceCode);
+		assertEquals(1, counts.get(SolverMetrics.Phase.PARSE).get());
+		assertEquals(1, counts.get(SolverMetrics.Phase.MAP).get());
+		assertEquals(1, counts.get(ClassMapper.class).get());
+		assertTrue(counts.get(MethodMapper.class).get() > 1);
+
+		ResolverFactory factory = new ResolverFactory(pool);
+		factory.setMetrics(metrics);
+		Resolver resolver = factory.newResolver(model);
+		resolver.resolveAll(model, (m, resolution) -> {});
+		int misses = counts.get("miss").get();
+		assertTrue(misses > 0);
+		assertEquals(misses, counts.get("resolution").get());
+		assertTrue(counts.get(SolverMetrics.Phase.RESOLVE).get() > 0);
+		assertTrue(counts.get(SolverMetrics.Phase.RESOLVE).get() <= misses);
+		assertTrue(counts.get("lookup").get() > 0);
+
+		// Resolving again should be served from the cache.
+		counts.remove("hit");
+		resolver.resolveAll(model, (m, resolution) -> {});
+		assertEquals(misses, counts.get("miss").get());
+		assertTrue(counts.get("hit").get() > 0);
+	}
+
 	private static Resolution resolutionAtStart(Resolver resolver, String source, String toMatch) {
 		return resolutionAtOffset(resolver, source, toMatch, 0);
 	}
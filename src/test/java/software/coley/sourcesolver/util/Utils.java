@@ -3,6 +3,7 @@
 import software.coley.collections.Unchecked;
 import software.coley.sourcesolver.resolve.entry.BasicEntryPool;
 import software.coley.sourcesolver.resolve.entry.ClassEntry;
+import software.coley.sourcesolver.resolve.entry.ConcurrentEntryPool;
 import software.coley.sourcesolver.resolve.entry.EntryPool;
 
 import java.io.File;
@@ -16,10 +17,13 @@
 import java.util.Map;
 
 import static software.coley.sourcesolver.resolve.entry.ReflectiveClassEntry.build;
+import static software.coley.sourcesolver.resolve.entry.ReflectiveClassEntry.lazy;
 
 public class Utils {
 	private static final EntryPool pool = new BasicEntryPool();
+	private static final ConcurrentEntryPool lazyPool = new ConcurrentEntryPool();
 	private static boolean filled;
+	private static boolean lazyFilled;
 
 	public static EntryPool getSharedPool() {
 		if (!filled) {
@@ -29,20 +33,23 @@ public static EntryPool getSharedPool() {
 		return pool;
 	}
 
+	public static EntryPool getSharedLazyPool() {
+		if (!lazyFilled) {
+			lazyFilled = true;
+			fillLazyPool();
+		}
+		return lazyPool;
+	}
+
 	private static void fillPool() {
-		List<String> classes = ModuleFinder.ofSystem().findAll().stream()
-				.map(modRef -> Unchecked.supply(modRef::open).get()) // open reader to each module
-				.flatMap(modReader -> Unchecked.supply(modReader::list).get()) // list all items in the module
-				.filter(s -> s.endsWith(".class") && s.indexOf('-') == -1) // retain only classes (except module-info or package-info)
-				.map(s -> s.substring(0, s.length() - 6)) // cut off '.class' from the path
-				.toList();
+		List<String> classes = listSystemClasses();
 		Map<String, ClassEntry> entryMap = new HashMap<>();
 		for (String cls : classes) {
 			if (cls.indexOf('$') >= 0)
 				continue;
 			try {
 				Class<?> ref = Unchecked.supply(() -> Class.forName(cls.replace('/', '.'), false, ClassLoader.getSystemClassLoader())).get();
-				build(entryMap, ref);
+				build(pool.getSymbolTable(), entryMap, ref);
 			} catch (Throwable ignored) {}
 		}
 
@@ -54,7 +61,7 @@ private static void fillPool() {
 					try {
 						String className = pathName.replace(File.separator, ".").replace(".java", "");
 						Class<?> cls = Class.forName(className, false, Utils.class.getClassLoader());
-						build(entryMap, cls);
+						build(pool.getSymbolTable(), entryMap, cls);
 					} catch (ReflectiveOperationException ex) {
 						throw new IllegalStateException("Failed reflecting test-fixtures, pool not finished populating", ex);
 					}
@@ -66,4 +73,39 @@ private static void fillPool() {
 		for (ClassEntry entry : entryMap.values())
 			pool.register(entry);
 	}
+
+	private static void fillLazyPool() {
+		ClassLoader systemLoader = ClassLoader.getSystemClassLoader();
+		for (String cls : listSystemClasses())
+			lazy(lazyPool, systemLoader, cls);
+
+		try {
+			Path root = Paths.get("src/testFixtures/java/");
+			Files.walk(root, 3).forEach(path -> {
+				if (Files.isRegularFile(path)) {
+					String pathName = root.relativize(path).toString();
+					String className = pathName.replace(File.separator, "/").replace(".java", "");
+					registerInnerClasses(lazy(lazyPool, Utils.class.getClassLoader(), className));
+				}
+			});
+		} catch (IOException ex) {
+			throw new IllegalStateException("Failed walking test-fixtures, pool not finished populating", ex);
+		}
+	}
+
+	private static void registerInnerClasses(ClassEntry entry) {
+		// Inner class placeholders are registered when the outer class is loaded.
+		// We want to be able to look up the test-fixture inner classes by name right away, so we load them here.
+		for (ClassEntry innerEntry : entry.getInnerClassEntries())
+			registerInnerClasses(innerEntry);
+	}
+
+	private static List<String> listSystemClasses() {
+		return ModuleFinder.ofSystem().findAll().stream()
+				.map(modRef -> Unchecked.supply(modRef::open).get()) // open reader to each module
+				.flatMap(modReader -> Unchecked.supply(modReader::list).get()) // list all items in the module
+				.filter(s -> s.endsWith(".class") && s.indexOf('-') == -1) // retain only classes (except module-info or package-info)
+				.map(s -> s.substring(0, s.length() - 6)) // cut off '.class' from the path
+				.toList();
+	}
 }